@@ -0,0 +1,21 @@
+package vanii.bookingapp.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@Tag("benchmark")
+class JwtParseBenchmarkTest {
+    @Test
+    @DisplayName("""
+            Compare per-call JWT parsers with the shared parser and verified token cache
+            """)
+    void runJwtParseBenchmark() throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtParseBenchmark.class.getName())
+                .build())
+                .run();
+    }
+}
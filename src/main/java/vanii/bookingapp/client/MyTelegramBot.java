@@ -39,13 +39,17 @@ public class MyTelegramBot extends TelegramLongPollingBot {
     }
 
     public void sendNotification(String chatId, String message) {
-        SendMessage sendMessage = new SendMessage();
-        sendMessage.setChatId(chatId);
-        sendMessage.setText(message);
         try {
-            execute(sendMessage);
+            sendMessage(chatId, message);
         } catch (TelegramApiException e) {
             e.printStackTrace();
         }
     }
+
+    public void sendMessage(String chatId, String message) throws TelegramApiException {
+        SendMessage sendMessage = new SendMessage();
+        sendMessage.setChatId(chatId);
+        sendMessage.setText(message);
+        execute(sendMessage);
+    }
 }
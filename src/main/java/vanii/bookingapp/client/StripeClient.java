@@ -4,8 +4,7 @@ import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.checkout.SessionCreateParams;
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.time.Instant;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -22,8 +21,8 @@ public class StripeClient {
     private static final String PRODUCT_DATA_NAME = "Booking Payment";
     private static final String serverPort = "8080";
 
-    public Session createPaymentSession(BigDecimal amount) throws StripeException {
-        long expiresAt = LocalDateTime.now().plusHours(22).toEpochSecond(ZoneOffset.UTC);
+    public Session createPaymentSession(BigDecimal amount, Instant expiresAt)
+            throws StripeException {
         String successUrl = UriComponentsBuilder.fromHttpUrl(LOCALHOST_URL)
                 .port(serverPort)
                 .path(PAYMENT_PATH + "/success")
@@ -41,7 +40,7 @@ public class StripeClient {
                  .setMode(SessionCreateParams.Mode.PAYMENT)
                  .setSuccessUrl(successUrl)
                  .setCancelUrl(cancelUrl)
-                 .setExpiresAt(expiresAt)
+                 .setExpiresAt(expiresAt.getEpochSecond())
                  .addLineItem(SessionCreateParams.LineItem.builder()
                         .setQuantity(ONE_LONG)
                         .setPriceData(SessionCreateParams
@@ -57,4 +56,8 @@ public class StripeClient {
                  .build();
         return com.stripe.model.checkout.Session.create(params);
     }
+
+    public Session retrieveSession(String sessionId) throws StripeException {
+        return Session.retrieve(sessionId);
+    }
 }
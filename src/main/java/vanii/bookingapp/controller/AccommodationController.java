@@ -2,11 +2,16 @@ package vanii.bookingapp.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,6 +19,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
@@ -21,6 +27,10 @@ import vanii.bookingapp.dto.accomodation.AccommodationRequestDto;
 import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
 import vanii.bookingapp.dto.accomodation.AccommodationSearchParameters;
 import vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
+import vanii.bookingapp.monitoring.SqlBudget;
+import vanii.bookingapp.service.accommodation.AccommodationImportService;
 import vanii.bookingapp.service.accommodation.AccommodationService;
 
 @Tag(name = "Accommodation Management",
@@ -29,7 +39,10 @@ import vanii.bookingapp.service.accommodation.AccommodationService;
 @RestController
 @RequestMapping("/accommodations")
 public class AccommodationController {
+    private static final String TEXT_CSV = "text/csv";
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
     private final AccommodationService accommodationService;
+    private final AccommodationImportService accommodationImportService;
 
     @Operation(summary = "Create new Accommodation",
             description = "Create a new Accommodation entity with the defined values")
@@ -42,9 +55,29 @@ public class AccommodationController {
         return accommodationService.save(requestDto);
     }
 
+    @Operation(summary = "Import Accommodations",
+            description = "Create Accommodations from a CSV (with a header row) or NDJSON"
+                    + " body. Rejected rows and a final summary are streamed back as NDJSON")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    @PostMapping(value = "/import", consumes = {TEXT_CSV, APPLICATION_NDJSON},
+            produces = APPLICATION_NDJSON)
+    public void importAccommodations(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body,
+            HttpServletResponse response
+    ) throws IOException {
+        response.setContentType(APPLICATION_NDJSON);
+        accommodationImportService.importAccommodations(body,
+                contentType.isCompatibleWith(MediaType.valueOf(TEXT_CSV))
+                        ? AccommodationImportService.Format.CSV
+                        : AccommodationImportService.Format.NDJSON,
+                response.getOutputStream());
+    }
+
     @Operation(summary = "Get Accommodation",
             description = "Retrieve an accommodation with a specific id value")
     @GetMapping("/{id}")
+    @SqlBudget(2)
     public AccommodationResponseDto getAccommodationById(
             @PathVariable Long id
     ) {
@@ -54,10 +87,21 @@ public class AccommodationController {
     @Operation(summary = "Get all Accommodations",
             description = "Retrieve all accommodations stored in the database")
     @GetMapping
+    @SqlBudget(2)
     public List<AccommodationResponseDto> getAllAccommodations(Pageable pageable) {
         return accommodationService.getAll(pageable);
     }
 
+    @Operation(summary = "Get all Accommodations by cursor",
+            description = "Retrieve accommodations after an opaque cursor, ordered by id"
+                    + " or by daily_rate")
+    @GetMapping("/cursor")
+    public CursorPageDto<AccommodationResponseDto> getAllAccommodationsByCursor(
+            CursorRequestDto cursorRequest
+    ) {
+        return accommodationService.getAll(cursorRequest);
+    }
+
     @Operation(summary = "Get Accommodations by AmenityId",
             description = "Retrieve all accommodations that have a certain amenity")
     @GetMapping("/amenity/{amenityId}")
@@ -68,9 +112,21 @@ public class AccommodationController {
         return accommodationService.getAllByAmenityId(pageable, amenityId);
     }
 
+    @Operation(summary = "Get Accommodations by AmenityId and cursor",
+            description = "Retrieve accommodations that have a certain amenity"
+                    + " after an opaque cursor")
+    @GetMapping("/amenity/{amenityId}/cursor")
+    public CursorPageDto<AccommodationWithoutAmenityIdsDto> getAccommodationsByAmenityIdAndCursor(
+            CursorRequestDto cursorRequest,
+            @PathVariable Long amenityId
+    ) {
+        return accommodationService.getAllByAmenityId(cursorRequest, amenityId);
+    }
+
     @Operation(summary = "Search through Accommodations",
             description = "Retrieve all accommodations with specific search parameters")
     @GetMapping("/search")
+    @SqlBudget(2)
     public List<AccommodationResponseDto> searchAccommodations(
             Pageable pageable,
             AccommodationSearchParameters searchParameters
@@ -78,6 +134,17 @@ public class AccommodationController {
         return accommodationService.search(pageable, searchParameters);
     }
 
+    @Operation(summary = "Search through Accommodations by cursor",
+            description = "Retrieve accommodations with specific search parameters"
+                    + " after an opaque cursor")
+    @GetMapping("/search/cursor")
+    public CursorPageDto<AccommodationResponseDto> searchAccommodationsByCursor(
+            CursorRequestDto cursorRequest,
+            AccommodationSearchParameters searchParameters
+    ) {
+        return accommodationService.search(cursorRequest, searchParameters);
+    }
+
     @Operation(summary = "Update Accommodation",
             description = "Update an Accommodation with a specific Id value")
     @PreAuthorize("hasAuthority('MANAGER')")
@@ -5,7 +5,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,11 +20,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import vanii.bookingapp.dto.booking.BookingRequestDto;
 import vanii.bookingapp.dto.booking.BookingResponseDto;
 import vanii.bookingapp.dto.booking.UpdateStatusDto;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
+import vanii.bookingapp.dto.export.ExportRequestDto;
 import vanii.bookingapp.model.Booking;
+import vanii.bookingapp.monitoring.SqlBudget;
 import vanii.bookingapp.service.booking.BookingService;
+import vanii.bookingapp.service.export.ReportExportService;
 
 @Tag(name = "Booking Management",
         description = "Endpoints indicate specific actions with Bookings")
@@ -31,6 +39,7 @@ import vanii.bookingapp.service.booking.BookingService;
 @RequestMapping("/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final ReportExportService reportExportService;
 
     @Operation(summary = "Create new Booking",
             description = "Create a new Booking entity with the defined values")
@@ -54,10 +63,20 @@ public class BookingController {
     @Operation(summary = "Get my Bookings",
             description = "Retrieve Bookings of the current User that are stored in the database")
     @GetMapping("/my")
+    @SqlBudget(1)
     public List<BookingResponseDto> getAllBookingsOfCurrentUser() {
         return bookingService.getBookingsOfCurrentUser();
     }
 
+    @Operation(summary = "Get my Bookings by cursor",
+            description = "Retrieve Bookings of the current User after an opaque cursor")
+    @GetMapping("/my/cursor")
+    public CursorPageDto<BookingResponseDto> getBookingsOfCurrentUserByCursor(
+            CursorRequestDto cursorRequest
+    ) {
+        return bookingService.getBookingsOfCurrentUser(cursorRequest);
+    }
+
     @Operation(summary = "Update Booking",
             description = "Update a Booking with a specific Id value")
     @PutMapping("/{id}")
@@ -80,6 +99,24 @@ public class BookingController {
         return bookingService.getBookingsByUserIdAndStatus(userId, status);
     }
 
+    @Operation(summary = "Export Bookings",
+            description = "Stream all bookings with check-in dates in a range as CSV or NDJSON,"
+                    + " optionally gzip-compressed")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @Valid ExportRequestDto exportRequest
+    ) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportRequest.format().getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bookings."
+                        + exportRequest.format().getExtension());
+        if (exportRequest.gzip()) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> reportExportService.exportBookings(exportRequest, out));
+    }
+
     @Operation(summary = "Update Status of Booking",
             description = "Update a Status of Booking with a specific id value")
     @PreAuthorize("hasAuthority('MANAGER')")
@@ -6,6 +6,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,8 +16,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
+import vanii.bookingapp.dto.export.ExportRequestDto;
 import vanii.bookingapp.dto.payment.PaymentRequestDto;
 import vanii.bookingapp.dto.payment.PaymentResponseDto;
+import vanii.bookingapp.monitoring.SqlBudget;
+import vanii.bookingapp.service.export.ReportExportService;
 import vanii.bookingapp.service.payment.PaymentService;
 
 @Tag(name = "Payment Management",
@@ -26,6 +33,7 @@ import vanii.bookingapp.service.payment.PaymentService;
 @RequestMapping("/payments")
 public class PaymentController {
     private final PaymentService paymentService;
+    private final ReportExportService reportExportService;
 
     @Operation(summary = "Create new Payment",
             description = "Create a new Payment with certain amount and bookingId")
@@ -63,13 +71,41 @@ public class PaymentController {
         return paymentService.renewPaymentSession(sessionId);
     }
 
+    @Operation(summary = "Export Payments",
+            description = "Stream all payments with check-in dates in a range as CSV or NDJSON,"
+                    + " optionally gzip-compressed")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+            @Valid ExportRequestDto exportRequest
+    ) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportRequest.format().getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=payments."
+                        + exportRequest.format().getExtension());
+        if (exportRequest.gzip()) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(out -> reportExportService.exportPayments(exportRequest, out));
+    }
+
     @Operation(summary = "Get Payments for current User",
             description = "Get all payment for currently logged in User")
     @GetMapping("/my")
+    @SqlBudget(1)
     public List<PaymentResponseDto> getPaymentsForCurrentUser() {
         return paymentService.getPaymentsForCurrentUser();
     }
 
+    @Operation(summary = "Get Payments for current User by cursor",
+            description = "Get payments for currently logged in User after an opaque cursor")
+    @GetMapping("/my/cursor")
+    public CursorPageDto<PaymentResponseDto> getPaymentsForCurrentUserByCursor(
+            CursorRequestDto cursorRequest
+    ) {
+        return paymentService.getPaymentsForCurrentUser(cursorRequest);
+    }
+
     @Operation(summary = "Get Payments for certain User",
             description = "Get all payment for certain User by Id")
     @PreAuthorize("hasAuthority('MANAGER')")
@@ -78,4 +114,15 @@ public class PaymentController {
             @RequestParam("user_id") Long userId) {
         return paymentService.getPaymentsForCertainUser(userId);
     }
+
+    @Operation(summary = "Get Payments for certain User by cursor",
+            description = "Get payments for certain User by Id after an opaque cursor")
+    @PreAuthorize("hasAuthority('MANAGER')")
+    @GetMapping("/cursor")
+    public CursorPageDto<PaymentResponseDto> getPaymentsForCertainUserByCursor(
+            @RequestParam("user_id") Long userId,
+            CursorRequestDto cursorRequest
+    ) {
+        return paymentService.getPaymentsForCertainUser(userId, cursorRequest);
+    }
 }
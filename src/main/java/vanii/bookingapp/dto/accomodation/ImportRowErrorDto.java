@@ -0,0 +1,6 @@
+package vanii.bookingapp.dto.accomodation;
+
+import java.util.List;
+
+public record ImportRowErrorDto(long line, List<String> errors) {
+}
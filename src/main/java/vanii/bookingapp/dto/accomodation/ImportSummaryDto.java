@@ -0,0 +1,4 @@
+package vanii.bookingapp.dto.accomodation;
+
+public record ImportSummaryDto(int imported, int failed) {
+}
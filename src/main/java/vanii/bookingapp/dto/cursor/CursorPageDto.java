@@ -0,0 +1,9 @@
+package vanii.bookingapp.dto.cursor;
+
+import java.util.List;
+
+public record CursorPageDto<T>(
+        List<T> content,
+        String nextCursor
+) {
+}
@@ -0,0 +1,8 @@
+package vanii.bookingapp.dto.cursor;
+
+public record CursorRequestDto(
+        String after,
+        Integer limit,
+        String order
+) {
+}
@@ -0,0 +1,21 @@
+package vanii.bookingapp.dto.export;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+
+public record ExportRequestDto(
+        @NotNull
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate from,
+        @NotNull
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate to,
+        ExportFormat format,
+        Boolean gzip
+) {
+    public ExportRequestDto {
+        format = format == null ? ExportFormat.CSV : format;
+        gzip = gzip != null && gzip;
+    }
+}
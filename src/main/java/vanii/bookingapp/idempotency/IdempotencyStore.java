@@ -0,0 +1,207 @@
+package vanii.bookingapp.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.exception.IdempotencyKeyException;
+import vanii.bookingapp.model.IdempotencyKey;
+import vanii.bookingapp.repository.idempotency.IdempotencyKeyRepository;
+import vanii.bookingapp.scheduling.SchedulerLock;
+
+@Component
+public class IdempotencyStore {
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<IdempotencyKey.OwnedKey, StoredResponse> responses;
+    private final Map<IdempotencyKey.OwnedKey, CompletableFuture<StoredResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration claimLease;
+    private final long waitTimeoutMillis;
+    private final long pollMillis;
+
+    public IdempotencyStore(
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${idempotency.cache.max-size:10000}") long maxSize,
+            @Value("${idempotency.ttl-hours:24}") long ttlHours,
+            @Value("${idempotency.claim-lease-ms:60000}") long claimLeaseMillis,
+            @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis,
+            @Value("${idempotency.poll-ms:100}") long pollMillis
+    ) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.claimLease = Duration.ofMillis(claimLeaseMillis);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.waitTimeoutMillis = waitTimeoutMillis;
+        this.pollMillis = pollMillis;
+    }
+
+    // duplicates on this node wait for the first request's future, duplicates on other nodes
+    // poll the claimed row until it has a response
+    public StoredResponse execute(
+            IdempotencyKey.OwnedKey key,
+            String fingerprint,
+            Execution execution
+    ) throws IOException, ServletException {
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+        while (true) {
+            StoredResponse response = responses.getIfPresent(key);
+            if (response == null) {
+                CompletableFuture<StoredResponse> running = new CompletableFuture<>();
+                CompletableFuture<StoredResponse> first = inFlight.putIfAbsent(key, running);
+                response = first == null
+                        ? runOnce(key, fingerprint, execution, running, deadline)
+                        : await(first, deadline);
+            }
+            if (response != null) {
+                if (!response.fingerprint().equals(fingerprint)) {
+                    throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                            "Idempotency-Key was already used for a different request");
+                }
+                return response;
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 0 * * * ?")
+    @SchedulerLock("purge-idempotency-keys")
+    public void purgeExpiredKeys() {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyKeyRepository.deleteExpired(Instant.now()));
+    }
+
+    private StoredResponse runOnce(
+            IdempotencyKey.OwnedKey key,
+            String fingerprint,
+            Execution execution,
+            CompletableFuture<StoredResponse> running,
+            long deadline
+    ) throws IOException, ServletException {
+        try {
+            StoredResponse response = claimed(key, fingerprint)
+                    ? runClaimed(key, execution)
+                    : pollStored(key, fingerprint, deadline);
+            running.complete(response);
+            return response;
+        } catch (IOException | ServletException | RuntimeException e) {
+            running.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, running);
+        }
+    }
+
+    // a claim whose lease ran out without a response belongs to a node that died mid-request,
+    // the next request with the key takes it over instead of waiting for the response TTL
+    private boolean claimed(IdempotencyKey.OwnedKey key, String fingerprint) {
+        Instant now = Instant.now();
+        Integer claimed = transactionTemplate.execute(status ->
+                idempotencyKeyRepository.tryClaim(key.getOwner(), key.getIdempotencyKey(),
+                        fingerprint, now.plus(claimLease), now.plus(ttl)));
+        return claimed != null && claimed == 1;
+    }
+
+    // server errors are not stored, so the client can retry them with the same key
+    private StoredResponse runClaimed(IdempotencyKey.OwnedKey key, Execution execution)
+            throws IOException, ServletException {
+        StoredResponse response;
+        try {
+            response = execution.run();
+        } catch (IOException | ServletException | RuntimeException e) {
+            release(key);
+            throw e;
+        }
+        if (response.status() >= HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            release(key);
+            return response;
+        }
+        transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.complete(
+                key.getOwner(), key.getIdempotencyKey(), response.status(),
+                response.contentType(), response.encodedHeaders(), response.body()));
+        responses.put(key, response);
+        return response;
+    }
+
+    private StoredResponse pollStored(
+            IdempotencyKey.OwnedKey key,
+            String fingerprint,
+            long deadline
+    ) {
+        while (true) {
+            IdempotencyKey stored = idempotencyKeyRepository.findById(key).orElse(null);
+            if (stored == null || stored.getStatusCode() == null
+                    && stored.getLockedUntil() != null
+                    && stored.getLockedUntil().isBefore(Instant.now())) {
+                return null;
+            }
+            if (stored.getStatusCode() != null || !stored.getFingerprint().equals(fingerprint)) {
+                StoredResponse response = new StoredResponse(stored.getFingerprint(),
+                        stored.getStatusCode(), stored.getContentType(),
+                        StoredResponse.decodeHeaders(stored.getResponseHeaders()),
+                        stored.getResponseBody());
+                responses.put(key, response);
+                return response;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw inProgress();
+            }
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw inProgress();
+            }
+        }
+    }
+
+    // a failed or retryable first execution yields null and the caller tries to claim again
+    private StoredResponse await(CompletableFuture<StoredResponse> first, long deadline) {
+        try {
+            StoredResponse response = first.get(
+                    Math.max(deadline - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+            return response != null && response.status()
+                    < HttpStatus.INTERNAL_SERVER_ERROR.value() ? response : null;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        }
+    }
+
+    private void release(IdempotencyKey.OwnedKey key) {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyKeyRepository.release(key.getOwner(), key.getIdempotencyKey()));
+    }
+
+    private IdempotencyKeyException inProgress() {
+        return new IdempotencyKeyException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still in progress");
+    }
+
+    @FunctionalInterface
+    public interface Execution {
+        StoredResponse run() throws IOException, ServletException;
+    }
+}
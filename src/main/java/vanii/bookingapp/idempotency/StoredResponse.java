@@ -0,0 +1,36 @@
+package vanii.bookingapp.idempotency;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public record StoredResponse(
+        String fingerprint,
+        int status,
+        String contentType,
+        Map<String, List<String>> headers,
+        String body
+) {
+    // one "Name: value" line per header value, header values can't contain line breaks
+    public String encodedHeaders() {
+        return headers.entrySet().stream()
+                .flatMap(header -> header.getValue().stream()
+                        .map(value -> header.getKey() + ": " + value))
+                .collect(Collectors.joining("\n"));
+    }
+
+    public static Map<String, List<String>> decodeHeaders(String encodedHeaders) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (encodedHeaders == null || encodedHeaders.isEmpty()) {
+            return headers;
+        }
+        for (String line : encodedHeaders.split("\n")) {
+            int separator = line.indexOf(": ");
+            headers.computeIfAbsent(line.substring(0, separator), name -> new ArrayList<>())
+                    .add(line.substring(separator + 2));
+        }
+        return headers;
+    }
+}
@@ -24,6 +24,10 @@ public interface AccommodationMapper {
     @Mapping(target = "amenityIds", ignore = true)
     AccommodationResponseDto toDto(Accommodation accommodation);
 
+    @Mapping(target = "amenityIds", source = "amenityIds")
+    AccommodationResponseDto toDto(AccommodationWithoutAmenityIdsDto accommodation,
+                                   Set<Long> amenityIds);
+
     AccommodationWithoutAmenityIdsDto toDtoWithoutAmenities(Accommodation accommodation);
 
     void updateAccommodation(@MappingTarget Accommodation accommodation,
@@ -8,6 +8,7 @@ import vanii.bookingapp.config.MapperConfig;
 import vanii.bookingapp.dto.booking.BookingRequestDto;
 import vanii.bookingapp.dto.booking.BookingResponseDto;
 import vanii.bookingapp.model.Booking;
+import vanii.bookingapp.repository.booking.BookingView;
 
 @Mapper(config = MapperConfig.class, uses = AccommodationMapper.class,
         nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
@@ -20,7 +21,9 @@ public interface BookingMapper {
     @Mapping(target = "userId", source = "user.id")
     BookingResponseDto toDto(Booking booking);
 
-    @Mapping(target = "accommodation.id", source = "accommodationId")
+    BookingResponseDto toDto(BookingView booking);
+
+    @Mapping(target = "accommodation", ignore = true)
     void updateBooking(@MappingTarget Booking model,
                        BookingRequestDto requestDto);
 }
@@ -5,10 +5,13 @@ import org.mapstruct.Mapping;
 import vanii.bookingapp.config.MapperConfig;
 import vanii.bookingapp.dto.payment.PaymentResponseDto;
 import vanii.bookingapp.model.Payment;
+import vanii.bookingapp.repository.payment.PaymentView;
 
 @Mapper(config = MapperConfig.class)
 public interface PaymentMapper {
     @Mapping(target = "userId", source = "user.id")
     @Mapping(target = "bookingId", source = "booking.id")
     PaymentResponseDto toDto(Payment payment);
+
+    PaymentResponseDto toDto(PaymentView payment);
 }
@@ -13,6 +13,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Min;
 import java.math.BigDecimal;
@@ -23,20 +24,24 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
-import vanii.bookingapp.exception.EntityCannotBeUsedException;
 
 @Data
 @Entity
 @NoArgsConstructor
 @Accessors(chain = true)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SQLDelete(sql = "UPDATE accommodations SET is_deleted = true WHERE id = ?")
 @Where(clause = "is_deleted = false")
 @Table(name = "accommodations")
 public class Accommodation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accommodations_seq")
+    @SequenceGenerator(name = "accommodations_seq", sequenceName = "accommodations_seq",
+            allocationSize = 50)
     private Long id;
     @Enumerated(EnumType.STRING)
     private Type type;
@@ -49,6 +54,7 @@ public class Accommodation {
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(name = "accommodation_amenity",
             joinColumns = @JoinColumn(name = "accommodation_id"),
             inverseJoinColumns = @JoinColumn(name = "amenity_id"))
@@ -67,13 +73,4 @@ public class Accommodation {
         CONDO,
         VACATION_HOME
     }
-
-    public void adjustAvailability(int num) {
-        int newAvailability = availability + num;
-        if (newAvailability < 0) {
-            throw new EntityCannotBeUsedException(
-                    "There is no available Accommodations. AccommodationId: " + id);
-        }
-        availability = newAvailability;
-    }
 }
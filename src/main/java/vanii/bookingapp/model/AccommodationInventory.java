@@ -0,0 +1,38 @@
+package vanii.bookingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@Entity
+@NoArgsConstructor
+@Accessors(chain = true)
+@IdClass(AccommodationInventory.NightId.class)
+@Table(name = "accommodation_inventory")
+public class AccommodationInventory {
+    @Id
+    @Column(name = "accommodation_id")
+    private Long accommodationId;
+    @Id
+    @Column(name = "stay_date")
+    private LocalDate stayDate;
+    @Column(name = "booked_units", nullable = false)
+    private Integer bookedUnits = 0;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NightId implements Serializable {
+        private Long accommodationId;
+        private LocalDate stayDate;
+    }
+}
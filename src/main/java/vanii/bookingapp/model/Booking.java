@@ -12,7 +12,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
@@ -33,7 +35,9 @@ import org.hibernate.annotations.Where;
 @Table(name = "bookings")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq",
+            allocationSize = 50)
     private Long id;
     @Enumerated(EnumType.STRING)
     private Status status = Status.PENDING;
@@ -43,6 +47,8 @@ public class Booking {
     @Column(name = "check_out_date")
     @JsonFormat(shape = JsonFormat.Shape.STRING)
     private LocalDate checkOutDate;
+    @Column(name = "hold_expires_at")
+    private Instant holdExpiresAt;
     @ManyToOne(cascade = CascadeType.MERGE)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
@@ -66,15 +72,4 @@ public class Booking {
         CANCELED,
         EXPIRED
     }
-
-    public void changeStatusIfCheckOutDateIsExpired() {
-        if (status != Status.EXPIRED
-                && status != Status.CANCELED
-                && LocalDate.now().isAfter(checkInDate)
-                && accommodation != null
-        ) {
-            status = Status.EXPIRED;
-            accommodation.adjustAvailability(1);
-        }
-    }
 }
@@ -0,0 +1,49 @@
+package vanii.bookingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@Entity
+@NoArgsConstructor
+@Accessors(chain = true)
+@IdClass(IdempotencyKey.OwnedKey.class)
+@Table(name = "idempotency_keys")
+public class IdempotencyKey {
+    @Id
+    private String owner;
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+    @Column(nullable = false)
+    private String fingerprint;
+    @Column(name = "status_code")
+    private Integer statusCode;
+    @Column(name = "content_type")
+    private String contentType;
+    @Column(name = "response_headers")
+    private String responseHeaders;
+    @Column(name = "response_body")
+    private String responseBody;
+    @Column(name = "locked_until")
+    private Instant lockedUntil;
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OwnedKey implements Serializable {
+        private String owner;
+        private String idempotencyKey;
+    }
+}
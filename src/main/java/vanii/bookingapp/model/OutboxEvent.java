@@ -0,0 +1,49 @@
+package vanii.bookingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Entity
+@Accessors(chain = true)
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq",
+            allocationSize = 50)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+    @Column(nullable = false)
+    private String payload;
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt = Instant.now();
+    @Column(nullable = false)
+    private int attempts;
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt = Instant.now();
+
+    public enum Type {
+        BOOKING_CREATED,
+        BOOKING_CANCELED,
+        BOOKINGS_EXPIRED,
+        ACCOMMODATION_CREATED,
+        ACCOMMODATIONS_IMPORTED,
+        ACCOMMODATION_RELEASED,
+        PAYMENT_SUCCEEDED,
+        PAYMENT_CANCELED,
+        PAYMENTS_EXPIRED
+    }
+}
@@ -10,8 +10,10 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.math.BigDecimal;
+import java.time.Instant;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -27,7 +29,9 @@ import org.hibernate.annotations.Where;
 @Table(name = "payments")
 public class Payment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq",
+            allocationSize = 50)
     private Long id;
     @Enumerated(EnumType.STRING)
     private Status status = Status.PENDING;
@@ -46,6 +50,8 @@ public class Payment {
     @Column(name = "session_id")
     private String sessionId;
     private BigDecimal amount;
+    @Column(name = "expires_at")
+    private Instant expiresAt;
     @Column(name = "is_deleted")
     private boolean isDeleted;
     
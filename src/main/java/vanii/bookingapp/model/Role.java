@@ -2,6 +2,7 @@ package vanii.bookingapp.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -11,14 +12,19 @@ import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 import org.springframework.security.core.GrantedAuthority;
+import vanii.bookingapp.security.PrincipalCacheInvalidator;
 
 @Data
 @Entity
+@EntityListeners(PrincipalCacheInvalidator.class)
 @NoArgsConstructor
 @Accessors(chain = true)
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
 @SQLDelete(sql = "UPDATE roles SET is_deleted = true WHERE id = ?")
 @Where(clause = "is_deleted = false")
 @Table(name = "roles")
@@ -0,0 +1,24 @@
+package vanii.bookingapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+@Data
+@Entity
+@Accessors(chain = true)
+@Table(name = "scheduler_leases")
+public class SchedulerLease {
+    @Id
+    private String name;
+    @Column(nullable = false)
+    private String owner;
+    @Column(name = "acquired_at", nullable = false)
+    private Instant acquiredAt;
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
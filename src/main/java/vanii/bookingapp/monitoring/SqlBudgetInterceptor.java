@@ -0,0 +1,105 @@
+package vanii.bookingapp.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Component
+public class SqlBudgetInterceptor implements AsyncHandlerInterceptor {
+    private static final String SCOPE_ATTRIBUTE = SqlBudgetInterceptor.class.getName() + ".scope";
+    private final SqlStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final int defaultBudget;
+    private final int repeatThreshold;
+
+    public SqlBudgetInterceptor(
+            SqlStatementCounter statementCounter,
+            MeterRegistry meterRegistry,
+            @Value("${sql.budget.default:20}") int defaultBudget,
+            @Value("${sql.budget.repeat-threshold:3}") int repeatThreshold
+    ) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+        this.defaultBudget = defaultBudget;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    public boolean preHandle(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        // an async dispatch resumes a request whose scope was closed when it went async
+        if (handler instanceof HandlerMethod
+                && request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(SCOPE_ATTRIBUTE, statementCounter.open());
+        }
+        return true;
+    }
+
+    // the scope lives in a ThreadLocal of the request thread, so it is closed on that thread
+    // before the request goes async, the work done by the async body is not counted
+    @Override
+    public void afterConcurrentHandlingStarted(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler
+    ) {
+        closeScope(request, handler);
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            Object handler,
+            Exception ex
+    ) {
+        closeScope(request, handler);
+    }
+
+    private void closeScope(HttpServletRequest request, Object handler) {
+        if (!(request.getAttribute(SCOPE_ATTRIBUTE) instanceof SqlStatementScope scope)) {
+            return;
+        }
+        request.removeAttribute(SCOPE_ATTRIBUTE);
+        scope.close();
+        String endpoint = request.getMethod() + " "
+                + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        int statementCount = scope.getStatementCount();
+        DistributionSummary.builder("sql.statements.per.request")
+                .description("SQL statements executed while handling a request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statementCount);
+        if (statementCount > budgetOf((HandlerMethod) handler)) {
+            Counter.builder("sql.budget.exceeded")
+                    .description("Requests that executed more SQL statements than their budget")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+        }
+        if (!scope.getRepeatedStatements(repeatThreshold).isEmpty()) {
+            Counter.builder("sql.n_plus_one.suspected")
+                    .description("Requests that ran the same SQL statement"
+                            + " at least sql.budget.repeat-threshold times")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private int budgetOf(HandlerMethod handler) {
+        SqlBudget budget = handler.getMethodAnnotation(SqlBudget.class);
+        return budget == null ? defaultBudget : budget.value();
+    }
+}
@@ -0,0 +1,37 @@
+package vanii.bookingapp.monitoring;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<Deque<SqlStatementScope>> scopes =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    // scopes nest, so a test can count around a request that the interceptor also counts
+    public SqlStatementScope open() {
+        Deque<SqlStatementScope> threadScopes = scopes.get();
+        SqlStatementScope[] scope = new SqlStatementScope[1];
+        scope[0] = new SqlStatementScope(() -> {
+            threadScopes.remove(scope[0]);
+            if (threadScopes.isEmpty()) {
+                scopes.remove();
+            }
+        });
+        threadScopes.push(scope[0]);
+        return scope[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Deque<SqlStatementScope> threadScopes = scopes.get();
+        if (threadScopes.isEmpty()) {
+            scopes.remove();
+        } else {
+            threadScopes.forEach(scope -> scope.record(sql));
+        }
+        return sql;
+    }
+}
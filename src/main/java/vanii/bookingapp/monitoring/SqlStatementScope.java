@@ -0,0 +1,40 @@
+package vanii.bookingapp.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class SqlStatementScope implements AutoCloseable {
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+    private final Runnable onClose;
+    private int statementCount;
+
+    SqlStatementScope(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    void record(String sql) {
+        statementCount++;
+        statements.merge(sql, 1, Integer::sum);
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public Map<String, Integer> getStatements() {
+        return statements;
+    }
+
+    // the same statement text executed again and again is the usual shape of an N+1
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        return statements.entrySet().stream()
+                .filter(statement -> statement.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    @Override
+    public void close() {
+        onClose.run();
+    }
+}
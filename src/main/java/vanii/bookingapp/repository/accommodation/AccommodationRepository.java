@@ -1,15 +1,34 @@
 package vanii.bookingapp.repository.accommodation;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto;
 import vanii.bookingapp.model.Accommodation;
 
 public interface AccommodationRepository extends JpaRepository<Accommodation, Long>,
-        JpaSpecificationExecutor<Accommodation> {
+        JpaSpecificationExecutor<Accommodation>, AccommodationRowRepository {
 
     @Query("FROM Accommodation a JOIN FETCH a.amenities aa WHERE aa.id = :amenityId")
     Page<Accommodation> findAccommodationsByAmenityId(Pageable pageable, Long amenityId);
+
+    @Query("SELECT new vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto("
+            + "a.id, a.type, a.location, a.size, a.dailyRate, a.availability)"
+            + " FROM Accommodation a WHERE a.id = :id")
+    Optional<AccommodationWithoutAmenityIdsDto> findRowById(Long id);
+
+    @Query(nativeQuery = true, value = """
+            SELECT aa.accommodation_id AS "accommodationId",
+                    array_agg(aa.amenity_id ORDER BY aa.amenity_id) AS "amenityIds"
+            FROM accommodation_amenity aa
+            JOIN amenities m ON m.id = aa.amenity_id AND m.is_deleted = false
+            WHERE aa.accommodation_id IN (:accommodationIds)
+            GROUP BY aa.accommodation_id
+            """)
+    List<AmenityIdsView> findAmenityIds(Collection<Long> accommodationIds);
 }
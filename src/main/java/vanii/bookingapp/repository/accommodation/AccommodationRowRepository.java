@@ -0,0 +1,23 @@
+package vanii.bookingapp.repository.accommodation;
+
+import java.util.List;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto;
+import vanii.bookingapp.model.Accommodation;
+
+public interface AccommodationRowRepository {
+    List<AccommodationWithoutAmenityIdsDto> findRows(
+            Specification<Accommodation> specification,
+            Pageable pageable
+    );
+
+    List<AccommodationWithoutAmenityIdsDto> findRows(
+            Specification<Accommodation> specification,
+            KeysetScrollPosition position,
+            Sort sort,
+            int limit
+    );
+}
@@ -0,0 +1,103 @@
+package vanii.bookingapp.repository.accommodation;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto;
+import vanii.bookingapp.model.Accommodation;
+
+public class AccommodationRowRepositoryImpl implements AccommodationRowRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AccommodationWithoutAmenityIdsDto> findRows(
+            Specification<Accommodation> specification,
+            Pageable pageable
+    ) {
+        TypedQuery<AccommodationWithoutAmenityIdsDto> typedQuery =
+                createQuery(specification, Map.of(), pageable.getSort());
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<AccommodationWithoutAmenityIdsDto> findRows(
+            Specification<Accommodation> specification,
+            KeysetScrollPosition position,
+            Sort sort,
+            int limit
+    ) {
+        return createQuery(specification, position.getKeys(), sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<AccommodationWithoutAmenityIdsDto> createQuery(
+            Specification<Accommodation> specification,
+            Map<String, Object> afterKeys,
+            Sort sort
+    ) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AccommodationWithoutAmenityIdsDto> query =
+                criteriaBuilder.createQuery(AccommodationWithoutAmenityIdsDto.class);
+        Root<Accommodation> root = query.from(Accommodation.class);
+        query.select(criteriaBuilder.construct(AccommodationWithoutAmenityIdsDto.class,
+                root.get("id"),
+                root.get("type"),
+                root.get("location"),
+                root.get("size"),
+                root.get("dailyRate"),
+                root.get("availability")));
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (!afterKeys.isEmpty()) {
+            predicates.add(after(root, criteriaBuilder, afterKeys, sort));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+
+    // (a > :a) OR (a = :a AND id > :id), the same keyset predicate Spring Data builds for scroll
+    @SuppressWarnings("unchecked")
+    private Predicate after(
+            Root<Accommodation> root,
+            CriteriaBuilder criteriaBuilder,
+            Map<String, Object> afterKeys,
+            Sort sort
+    ) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalities = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<Comparable<Object>> path = root.get(order.getProperty());
+            Comparable<Object> key = (Comparable<Object>) afterKeys.get(order.getProperty());
+            List<Predicate> alternative = new ArrayList<>(equalities);
+            alternative.add(order.isAscending()
+                    ? criteriaBuilder.greaterThan(path, key)
+                    : criteriaBuilder.lessThan(path, key));
+            alternatives.add(criteriaBuilder.and(alternative.toArray(Predicate[]::new)));
+            equalities.add(criteriaBuilder.equal(path, key));
+        }
+        return criteriaBuilder.or(alternatives.toArray(Predicate[]::new));
+    }
+}
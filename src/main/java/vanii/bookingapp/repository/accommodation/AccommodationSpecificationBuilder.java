@@ -47,6 +47,12 @@ public class AccommodationSpecificationBuilder implements
                     .getSpecificationProvider("minAvailable")
                     .getSpecification(searchParameters.getMinAvailable()));
         }
+        if (searchParameters.getAmenities() != null
+                && searchParameters.getAmenities().length > 0) {
+            spec = spec.and(manager
+                    .getSpecificationProvider("amenities")
+                    .getSpecification(searchParameters.getAmenities()));
+        }
         return spec;
     }
 }
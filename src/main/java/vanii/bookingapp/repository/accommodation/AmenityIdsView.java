@@ -0,0 +1,7 @@
+package vanii.bookingapp.repository.accommodation;
+
+public interface AmenityIdsView {
+    Long getAccommodationId();
+
+    Long[] getAmenityIds();
+}
@@ -1,9 +1,14 @@
 package vanii.bookingapp.repository.amenity;
 
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import vanii.bookingapp.model.Amenity;
 
 @Repository
 public interface AmenityRepository extends JpaRepository<Amenity, Long> {
+    @Query("SELECT a.id FROM Amenity a WHERE a.id IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
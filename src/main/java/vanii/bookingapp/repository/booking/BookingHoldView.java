@@ -0,0 +1,9 @@
+package vanii.bookingapp.repository.booking;
+
+import java.time.Instant;
+
+public interface BookingHoldView {
+    Long getId();
+
+    Instant getHoldExpiresAt();
+}
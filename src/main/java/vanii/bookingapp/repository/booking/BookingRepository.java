@@ -1,21 +1,73 @@
 package vanii.bookingapp.repository.booking;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import vanii.bookingapp.model.Booking;
 import vanii.bookingapp.model.User;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    @Query("SELECT b FROM Booking b JOIN FETCH b.user u WHERE u.id = :userId")
-    List<Booking> getBookingsByUserId(Long userId);
+public interface BookingRepository extends JpaRepository<Booking, Long>,
+        JpaSpecificationExecutor<Booking> {
+    @Query("SELECT b.id AS id, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate,"
+            + " b.accommodation.id AS accommodationId, b.user.id AS userId, b.status AS status"
+            + " FROM Booking b WHERE b.user.id = :userId ORDER BY b.id")
+    List<BookingView> getBookingsByUserId(Long userId);
+
+    @Query("SELECT b.id AS id, b.checkInDate AS checkInDate, b.checkOutDate AS checkOutDate,"
+            + " b.accommodation.id AS accommodationId, b.user.id AS userId, b.status AS status"
+            + " FROM Booking b WHERE b.user.id = :userId AND b.id > :afterId"
+            + " ORDER BY b.id LIMIT :limit")
+    List<BookingView> getBookingsByUserIdAfter(Long userId, Long afterId, int limit);
 
     @Query("SELECT b FROM Booking b JOIN FETCH b.user u"
             + " WHERE b.status = :status AND u.id = :userId")
     List<Booking> getBookingsByUserIdAndStatus(Long userId, Booking.Status status);
 
-    @Query("FROM Booking b WHERE b.status IN ('PENDING', 'CONFIRMED')")
-    List<Booking> getBookingsByPendingAndConfirmedStatuses();
+    @Query(nativeQuery = true, value = """
+            SELECT b.id FROM bookings b
+            WHERE b.status IN ('PENDING', 'CONFIRMED') AND b.is_deleted = false
+            AND b.check_out_date < :today AND b.id > :afterId
+            ORDER BY b.id
+            LIMIT :limit
+            FOR UPDATE
+            """)
+    List<Long> lockExpiredBookingIds(LocalDate today, Long afterId, int limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "bookings"))
+    @Query(nativeQuery = true, value = """
+            UPDATE bookings SET status = 'EXPIRED'
+            WHERE id IN (:bookingIds) AND status IN ('PENDING', 'CONFIRMED')
+            """)
+    int expireBookings(List<Long> bookingIds);
+
+    @Query("SELECT b.id AS id, b.holdExpiresAt AS holdExpiresAt FROM Booking b"
+            + " WHERE b.status = vanii.bookingapp.model.Booking.Status.PENDING"
+            + " AND b.holdExpiresAt IS NOT NULL")
+    List<BookingHoldView> findPendingHolds();
+
+    @Query(nativeQuery = true, value = """
+            SELECT b.id FROM bookings b
+            WHERE b.id IN (:bookingIds) AND b.status = 'PENDING' AND b.is_deleted = false
+            AND b.hold_expires_at <= :now
+            ORDER BY b.id
+            FOR UPDATE
+            """)
+    List<Long> lockExpiredHolds(List<Long> bookingIds, Instant now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(Long id);
 
     boolean existsByUserAndId(User user, Long bookingId);
 }
@@ -0,0 +1,18 @@
+package vanii.bookingapp.repository.booking;
+
+import java.time.LocalDate;
+import vanii.bookingapp.model.Booking;
+
+public interface BookingView {
+    Long getId();
+
+    LocalDate getCheckInDate();
+
+    LocalDate getCheckOutDate();
+
+    Long getAccommodationId();
+
+    Long getUserId();
+
+    Booking.Status getStatus();
+}
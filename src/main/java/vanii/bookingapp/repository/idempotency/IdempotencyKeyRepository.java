@@ -0,0 +1,66 @@
+package vanii.bookingapp.repository.idempotency;
+
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import vanii.bookingapp.model.IdempotencyKey;
+
+public interface IdempotencyKeyRepository extends
+        JpaRepository<IdempotencyKey, IdempotencyKey.OwnedKey> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(nativeQuery = true, value = """
+            INSERT INTO idempotency_keys (owner, idempotency_key, fingerprint, locked_until,
+                    expires_at)
+            VALUES (:owner, :idempotencyKey, :fingerprint, :lockedUntil, :expiresAt)
+            ON CONFLICT (owner, idempotency_key) DO UPDATE
+            SET fingerprint = EXCLUDED.fingerprint, status_code = NULL, content_type = NULL,
+                    response_headers = NULL, response_body = NULL,
+                    locked_until = EXCLUDED.locked_until, expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at < now()
+                    OR (idempotency_keys.status_code IS NULL
+                    AND idempotency_keys.locked_until < now())
+            """)
+    int tryClaim(
+            String owner,
+            String idempotencyKey,
+            String fingerprint,
+            Instant lockedUntil,
+            Instant expiresAt
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(nativeQuery = true, value = """
+            UPDATE idempotency_keys
+            SET status_code = :statusCode, content_type = :contentType,
+                    response_headers = :responseHeaders, response_body = :responseBody,
+                    locked_until = NULL
+            WHERE owner = :owner AND idempotency_key = :idempotencyKey
+            """)
+    int complete(
+            String owner,
+            String idempotencyKey,
+            int statusCode,
+            String contentType,
+            String responseHeaders,
+            String responseBody
+    );
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(nativeQuery = true, value = """
+            DELETE FROM idempotency_keys
+            WHERE owner = :owner AND idempotency_key = :idempotencyKey AND status_code IS NULL
+            """)
+    int release(String owner, String idempotencyKey);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(nativeQuery = true, value = "DELETE FROM idempotency_keys WHERE expires_at < :now")
+    int deleteExpired(Instant now);
+}
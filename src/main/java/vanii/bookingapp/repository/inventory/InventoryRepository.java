@@ -0,0 +1,66 @@
+package vanii.bookingapp.repository.inventory;
+
+import jakarta.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import vanii.bookingapp.model.AccommodationInventory;
+
+public interface InventoryRepository extends
+        JpaRepository<AccommodationInventory, AccommodationInventory.NightId> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES,
+            value = "accommodation_inventory"))
+    @Query(nativeQuery = true, value = """
+            INSERT INTO accommodation_inventory (accommodation_id, stay_date, booked_units)
+            SELECT a.id, CAST(d AS date), 1
+            FROM accommodations a
+            CROSS JOIN generate_series(CAST(:firstNight AS date), CAST(:lastNight AS date),
+                    interval '1 day') d
+            WHERE a.id = :accommodationId AND a.is_deleted = false AND a.availability > 0
+            ON CONFLICT (accommodation_id, stay_date) DO UPDATE
+            SET booked_units = accommodation_inventory.booked_units + 1
+            WHERE accommodation_inventory.booked_units < (SELECT a.availability
+                    FROM accommodations a
+                    WHERE a.id = accommodation_inventory.accommodation_id)
+            """)
+    int reserveNights(Long accommodationId, LocalDate firstNight, LocalDate lastNight);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES,
+            value = "accommodation_inventory"))
+    @Query(nativeQuery = true, value = """
+            UPDATE accommodation_inventory
+            SET booked_units = booked_units - 1
+            WHERE accommodation_id = :accommodationId
+            AND stay_date BETWEEN :firstNight AND :lastNight
+            AND booked_units > 0
+            """)
+    int releaseNights(Long accommodationId, LocalDate firstNight, LocalDate lastNight);
+
+    // returns the Accommodations whose nights were released
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES,
+            value = "accommodation_inventory"))
+    @Query(nativeQuery = true, value = """
+            WITH released AS (UPDATE accommodation_inventory i
+            SET booked_units = GREATEST(i.booked_units - n.units, 0)
+            FROM (SELECT b.accommodation_id, CAST(d AS date) AS stay_date, COUNT(*) AS units
+                    FROM bookings b
+                    CROSS JOIN generate_series(b.check_in_date,
+                            GREATEST(b.check_out_date - 1, b.check_in_date),
+                            interval '1 day') d
+                    WHERE b.id IN (:bookingIds)
+                    GROUP BY b.accommodation_id, CAST(d AS date)) n
+            WHERE i.accommodation_id = n.accommodation_id AND i.stay_date = n.stay_date
+            RETURNING i.accommodation_id)
+            SELECT DISTINCT accommodation_id FROM released
+            """)
+    List<Long> releaseBookedNights(List<Long> bookingIds);
+
+    List<AccommodationInventory> findAllByAccommodationIdAndStayDateGreaterThanEqual(
+            Long accommodationId, LocalDate firstNight);
+}
@@ -0,0 +1,26 @@
+package vanii.bookingapp.repository.lease;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import vanii.bookingapp.model.SchedulerLease;
+
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "scheduler_leases"))
+    @Query(nativeQuery = true, value = """
+            INSERT INTO scheduler_leases (name, owner, acquired_at, expires_at)
+            VALUES (:name, :owner, now(), now() + :ttlMillis * interval '1 millisecond')
+            ON CONFLICT (name) DO UPDATE
+            SET owner = EXCLUDED.owner,
+                    acquired_at = CASE WHEN scheduler_leases.owner = EXCLUDED.owner
+                            THEN scheduler_leases.acquired_at ELSE EXCLUDED.acquired_at END,
+                    expires_at = EXCLUDED.expires_at
+            WHERE scheduler_leases.owner = EXCLUDED.owner
+                    OR scheduler_leases.expires_at < now()
+            """)
+    int tryAcquire(String name, String owner, long ttlMillis);
+}
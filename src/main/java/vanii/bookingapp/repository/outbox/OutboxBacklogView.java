@@ -0,0 +1,9 @@
+package vanii.bookingapp.repository.outbox;
+
+public interface OutboxBacklogView {
+    long getPending();
+
+    long getParked();
+
+    double getOldestAgeSeconds();
+}
@@ -0,0 +1,45 @@
+package vanii.bookingapp.repository.outbox;
+
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import vanii.bookingapp.model.OutboxEvent;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    @Query(nativeQuery = true, value = """
+            SELECT * FROM outbox_events
+            WHERE attempts < :maxAttempts AND next_attempt_at <= now()
+            ORDER BY id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """)
+    List<OutboxEvent> lockNextBatch(int maxAttempts, int batchSize);
+
+    @Query(nativeQuery = true, value = """
+            SELECT count(*) FILTER (WHERE attempts < :maxAttempts) AS pending,
+                count(*) FILTER (WHERE attempts >= :maxAttempts) AS parked,
+                COALESCE(EXTRACT(EPOCH FROM now() - min(created_at)
+                    FILTER (WHERE attempts < :maxAttempts)), 0) AS oldestAgeSeconds
+            FROM outbox_events
+            """)
+    OutboxBacklogView getBacklog(int maxAttempts);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox_events"))
+    @Query(nativeQuery = true, value = "DELETE FROM outbox_events WHERE id IN (:ids)")
+    int deleteByIds(List<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "outbox_events"))
+    @Query(nativeQuery = true, value = """
+            UPDATE outbox_events SET attempts = attempts + 1,
+                next_attempt_at = now() + interval '1 millisecond'
+                    * LEAST(:maxDelayMillis, :initialDelayMillis * power(2, attempts))
+            WHERE id IN (:ids)
+            """)
+    int scheduleRetry(List<Long> ids, long initialDelayMillis, long maxDelayMillis);
+}
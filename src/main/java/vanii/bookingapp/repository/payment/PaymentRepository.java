@@ -1,18 +1,43 @@
 package vanii.bookingapp.repository.payment;
 
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import vanii.bookingapp.model.Payment;
 
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>,
+        JpaSpecificationExecutor<Payment> {
     Optional<Payment> findBySessionId(String sessionId);
 
-    @Query("SELECT p FROM Payment p JOIN FETCH p.user u WHERE u.id = :userId")
-    List<Payment> getAllByUserId(Long userId);
+    @Query("SELECT p.id AS id, p.status AS status, p.booking.id AS bookingId,"
+            + " p.user.id AS userId, p.sessionUrl AS sessionUrl, p.sessionId AS sessionId,"
+            + " p.amount AS amount FROM Payment p WHERE p.user.id = :userId ORDER BY p.id")
+    List<PaymentView> getAllByUserId(Long userId);
+
+    @Query("SELECT p.id AS id, p.status AS status, p.booking.id AS bookingId,"
+            + " p.user.id AS userId, p.sessionUrl AS sessionUrl, p.sessionId AS sessionId,"
+            + " p.amount AS amount FROM Payment p WHERE p.user.id = :userId AND p.id > :afterId"
+            + " ORDER BY p.id LIMIT :limit")
+    List<PaymentView> getAllByUserIdAfter(Long userId, Long afterId, int limit);
 
     List<Payment> findAllByStatus(Payment.Status status);
 
+    List<Payment> findAllByStatusAndExpiresAtIsNull(Payment.Status status);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "payments"))
+    @Query(nativeQuery = true, value = """
+            UPDATE payments SET status = 'EXPIRED'
+            WHERE status = 'PENDING' AND expires_at < :now AND is_deleted = false
+            """)
+    int expirePendingPayments(Instant now);
+
     boolean existsByStatusAndUserId(Payment.Status status, Long userId);
 }
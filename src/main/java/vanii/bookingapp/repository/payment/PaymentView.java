@@ -0,0 +1,20 @@
+package vanii.bookingapp.repository.payment;
+
+import java.math.BigDecimal;
+import vanii.bookingapp.model.Payment;
+
+public interface PaymentView {
+    Long getId();
+
+    Payment.Status getStatus();
+
+    Long getBookingId();
+
+    Long getUserId();
+
+    String getSessionUrl();
+
+    String getSessionId();
+
+    BigDecimal getAmount();
+}
@@ -1,7 +1,14 @@
 package vanii.bookingapp.repository.role;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import vanii.bookingapp.model.Role;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Role> findAll();
 }
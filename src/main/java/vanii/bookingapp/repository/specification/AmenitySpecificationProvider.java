@@ -0,0 +1,41 @@
+package vanii.bookingapp.repository.specification;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.model.Amenity;
+import vanii.bookingapp.repository.SpecificationProvider;
+
+@Component
+public class AmenitySpecificationProvider implements SpecificationProvider<Accommodation> {
+    @Override
+    public String getKey() {
+        return "amenities";
+    }
+
+    // "has all of": one correlated subquery instead of a join per requested amenity
+    @Override
+    public Specification<Accommodation> getSpecification(String[] params) {
+        Set<Long> amenityIds = Arrays.stream(params)
+                .map(Long::valueOf)
+                .collect(Collectors.toSet());
+        return (root, query, criteriaBuilder) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Accommodation> accommodation = subquery.correlate(root);
+            Join<Accommodation, Amenity> amenity = accommodation.join("amenities");
+            subquery.select(accommodation.get("id"))
+                    .where(amenity.get("id").in(amenityIds))
+                    .groupBy(accommodation.get("id"))
+                    .having(criteriaBuilder.equal(
+                            criteriaBuilder.countDistinct(amenity.get("id")),
+                            (long) amenityIds.size()));
+            return criteriaBuilder.exists(subquery);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package vanii.bookingapp.scheduling;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import vanii.bookingapp.model.SchedulerLease;
+
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "leases")
+public class SchedulerLeaseEndpoint {
+    private final SchedulerLeaseManager leaseManager;
+
+    @ReadOperation
+    public Leases leases() {
+        return new Leases(leaseManager.getNodeId(), leaseManager.getLeases());
+    }
+
+    public record Leases(String node, List<SchedulerLease> leases) {
+    }
+}
@@ -0,0 +1,139 @@
+package vanii.bookingapp.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.model.SchedulerLease;
+import vanii.bookingapp.repository.lease.SchedulerLeaseRepository;
+
+@Component
+public class SchedulerLeaseManager {
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService renewalExecutor;
+    private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final long ttlMillis;
+
+    public SchedulerLeaseManager(
+            SchedulerLeaseRepository leaseRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${scheduler.node-id:}") String nodeId,
+            @Value("${scheduler.lease.ttl-ms:300000}") long ttlMillis
+    ) {
+        this.leaseRepository = leaseRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.renewalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-lease-renewal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.meterRegistry = meterRegistry;
+        this.nodeId = nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public List<SchedulerLease> getLeases() {
+        return leaseRepository.findAll(Sort.by("name"));
+    }
+
+    // the holder keeps renewing on every tick, other nodes take over once it stops for a ttl
+    public boolean tryAcquire(String name) {
+        Integer acquired = transactionTemplate.execute(status ->
+                leaseRepository.tryAcquire(name, nodeId, ttlMillis));
+        return acquired != null && acquired == 1;
+    }
+
+    // the lease becomes the current one of the calling thread until it is closed
+    public Lease keepRenewing(String name) {
+        Lease lease = new Lease(name, System.currentTimeMillis() + ttlMillis);
+        long period = ttlMillis / 3;
+        lease.renewal = renewalExecutor.scheduleAtFixedRate(
+                () -> renew(lease), period, period, TimeUnit.MILLISECONDS);
+        currentLease.set(lease);
+        return lease;
+    }
+
+    // jobs call it between units of work, so a node that lost its lease stops instead of
+    // running beside the new holder
+    public void assertHeld() {
+        Lease lease = currentLease.get();
+        if (lease != null && !lease.isHeld()) {
+            throw new IllegalStateException("Scheduler lease was lost: " + lease.name);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        renewalExecutor.shutdownNow();
+    }
+
+    // an exception must not escape, the executor would silently cancel every later renewal.
+    // A failed renewal is retried on the next period until the lease would have run out
+    private void renew(Lease lease) {
+        long startedAt = System.currentTimeMillis();
+        try {
+            if (tryAcquire(lease.name)) {
+                lease.expiresAtMillis = startedAt + ttlMillis;
+            } else {
+                lose(lease);
+            }
+        } catch (RuntimeException e) {
+            if (startedAt >= lease.expiresAtMillis) {
+                lose(lease);
+            }
+        }
+    }
+
+    private void lose(Lease lease) {
+        lease.lost = true;
+        lease.renewal.cancel(false);
+        Counter.builder("scheduler.leases.lost")
+                .description("Leases a running job lost to another node or to failed renewals")
+                .tag("job", lease.name)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public class Lease implements AutoCloseable {
+        private final String name;
+        private volatile long expiresAtMillis;
+        private volatile boolean lost;
+        private ScheduledFuture<?> renewal;
+
+        private Lease(String name, long expiresAtMillis) {
+            this.name = name;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public boolean isHeld() {
+            return !lost && System.currentTimeMillis() < expiresAtMillis;
+        }
+
+        @Override
+        public void close() {
+            renewal.cancel(false);
+            currentLease.remove();
+        }
+    }
+}
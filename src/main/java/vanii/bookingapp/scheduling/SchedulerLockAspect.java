@@ -0,0 +1,39 @@
+package vanii.bookingapp.scheduling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SchedulerLockAspect {
+    private final SchedulerLeaseManager leaseManager;
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(schedulerLock)")
+    public Object runOnLeaseHolder(ProceedingJoinPoint joinPoint, SchedulerLock schedulerLock)
+            throws Throwable {
+        String name = schedulerLock.value();
+        boolean acquired = leaseManager.tryAcquire(name);
+        Counter.builder("scheduler.runs")
+                .description("Scheduled job ticks by whether this node held the lease")
+                .tag("job", name)
+                .tag("outcome", acquired ? "run" : "skipped")
+                .register(meterRegistry)
+                .increment();
+        if (!acquired) {
+            return null;
+        }
+        try (SchedulerLeaseManager.Lease lease = leaseManager.keepRenewing(name)) {
+            return joinPoint.proceed();
+        }
+    }
+}
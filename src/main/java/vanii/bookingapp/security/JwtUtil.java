@@ -1,26 +1,43 @@
 package vanii.bookingapp.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
     private final SecretKey secret;
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
     @Value("${jwt.expiration}")
     private Long expiration;
 
     public JwtUtil(
             @Value("${jwt.secret.string}")
-                   String secretString) {
+                   String secretString,
+            @Value("${jwt.verified-cache.max-size:10000}")
+                   long verifiedCacheSize) {
         secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(secret).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
     }
 
     public String generateToken(String username) {
@@ -32,27 +49,54 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean isTokenValid(String token) {
+    public VerifiedToken parseAndValidate(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiration().after(new Date())) {
+            return cached;
+        }
         try {
-            Date expiration = getClaimsFromToken(token, Claims::getExpiration);
-            return expiration.after(new Date());
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getExpiration());
+            if (!verified.expiration().after(new Date())) {
+                throw new JwtException("Expired JWT token");
+            }
+            verifiedTokens.put(digest, verified);
+            return verified;
         } catch (JwtException | IllegalArgumentException e) {
             throw new JwtException("Expired or invalid JWT token");
         }
     }
 
-    public String getUsername(String token) {
-        return getClaimsFromToken(token, Claims::getSubject);
+    private String digest(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance(DIGEST_ALGORITHM)
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can't find digest algorithm: " + DIGEST_ALGORITHM, e);
+        }
+    }
+
+    public record VerifiedToken(String username, Date expiration) {
     }
 
-    private <T> T getClaimsFromToken(
-            String token,
-            Function<Claims, T> claimsResolver
-    ) {
-        final Claims claims = Jwts.parser().verifyWith(secret)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claimsResolver.apply(claims);
+    private static class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken token, long currentTime) {
+            long millisLeft = token.expiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millisLeft, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken token,
+                                      long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken token,
+                                    long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
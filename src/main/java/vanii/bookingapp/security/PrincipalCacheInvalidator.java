@@ -0,0 +1,24 @@
+package vanii.bookingapp.security;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import vanii.bookingapp.model.User;
+
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheInvalidator {
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            principalCache.ifAvailable(cache -> cache.evict(user.getUsername()));
+        } else {
+            principalCache.ifAvailable(PrincipalCache::evictAll);
+        }
+    }
+}
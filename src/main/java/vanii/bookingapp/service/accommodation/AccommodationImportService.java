@@ -0,0 +1,16 @@
+package vanii.bookingapp.service.accommodation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import vanii.bookingapp.dto.accomodation.ImportSummaryDto;
+
+public interface AccommodationImportService {
+    ImportSummaryDto importAccommodations(InputStream body, Format format, OutputStream report)
+            throws IOException;
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+}
@@ -0,0 +1,270 @@
+package vanii.bookingapp.service.accommodation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.dto.accomodation.AccommodationRequestDto;
+import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
+import vanii.bookingapp.dto.accomodation.ImportRowErrorDto;
+import vanii.bookingapp.dto.accomodation.ImportSummaryDto;
+import vanii.bookingapp.mapper.AccommodationMapper;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.amenity.AmenityRepository;
+import vanii.bookingapp.service.notification.NotificationService;
+
+@Service
+@RequiredArgsConstructor
+public class AccommodationImportServiceImpl implements AccommodationImportService {
+    private static final List<String> REQUIRED_COLUMNS =
+            List.of("type", "location", "size", "dailyRate", "availability");
+    private static final String AMENITY_IDS_COLUMN = "amenityIds";
+    private final AccommodationRepository accommodationRepository;
+    private final AmenityRepository amenityRepository;
+    private final AccommodationMapper mapper;
+    private final AccommodationSearchIndex searchIndex;
+    private final AccommodationSearchCache searchCache;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    @Value("${accommodation.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public ImportSummaryDto importAccommodations(
+            InputStream body,
+            Format format,
+            OutputStream report
+    ) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(body, StandardCharsets.UTF_8));
+        ImportRun run = new ImportRun(new BufferedWriter(
+                new OutputStreamWriter(report, StandardCharsets.UTF_8)));
+        long lineNumber = 0;
+        Map<String, Integer> columns = Map.of();
+        if (format == Format.CSV) {
+            lineNumber++;
+            columns = readCsvHeader(reader.readLine());
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                acceptRow(run, lineNumber, line, format, columns);
+            }
+        }
+        importChunk(run);
+        ImportSummaryDto summary = new ImportSummaryDto(run.imported, run.failed);
+        run.write(summary);
+        run.writer.flush();
+        notificationService.notifyAccommodationsImported(run.imported, run.failed);
+        return summary;
+    }
+
+    private void acceptRow(
+            ImportRun run,
+            long lineNumber,
+            String line,
+            Format format,
+            Map<String, Integer> columns
+    ) throws IOException {
+        AccommodationRequestDto requestDto;
+        try {
+            requestDto = format == Format.CSV
+                    ? parseCsvRow(line, columns)
+                    : objectMapper.readValue(line, AccommodationRequestDto.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            run.reject(lineNumber, List.of("Can't parse row: " + e.getMessage()));
+            return;
+        }
+        List<String> violations = validator.validate(requestDto).stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .toList();
+        if (!violations.isEmpty()) {
+            run.reject(lineNumber, violations);
+            return;
+        }
+        run.pending.add(new ImportRow(lineNumber, requestDto));
+        if (run.pending.size() >= chunkSize) {
+            importChunk(run);
+        }
+    }
+
+    // a chunk is one transaction and, with hibernate.jdbc.batch_size, a few JDBC batches
+    private void importChunk(ImportRun run) throws IOException {
+        List<ImportRow> rows = withExistingAmenities(run);
+        run.pending.clear();
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Accommodation> accommodations;
+        try {
+            accommodations = transactionTemplate.execute(status ->
+                    accommodationRepository.saveAll(rows.stream()
+                            .map(row -> mapper.toModel(row.requestDto()))
+                            .toList()));
+        } catch (DataAccessException e) {
+            for (ImportRow row : rows) {
+                run.reject(row.line(), List.of("Can't save row: " + e.getMessage()));
+            }
+            return;
+        }
+        accommodations.forEach(searchIndex::index);
+        searchCache.invalidate(accommodations.stream()
+                .map(mapper::toDto)
+                .toArray(AccommodationResponseDto[]::new));
+        run.imported += accommodations.size();
+        run.writer.flush();
+    }
+
+    private List<ImportRow> withExistingAmenities(ImportRun run) throws IOException {
+        Set<Long> amenityIds = run.pending.stream()
+                .map(ImportRow::requestDto)
+                .filter(requestDto -> requestDto.amenityIds() != null)
+                .flatMap(requestDto -> requestDto.amenityIds().stream())
+                .collect(Collectors.toSet());
+        Set<Long> existingIds = amenityIds.isEmpty()
+                ? Set.of()
+                : amenityRepository.findExistingIds(amenityIds);
+        List<ImportRow> rows = new ArrayList<>();
+        for (ImportRow row : run.pending) {
+            Set<Long> missingIds = new TreeSet<>();
+            if (row.requestDto().amenityIds() != null) {
+                missingIds.addAll(row.requestDto().amenityIds());
+                missingIds.removeAll(existingIds);
+            }
+            if (missingIds.isEmpty()) {
+                rows.add(row);
+            } else {
+                run.reject(row.line(),
+                        List.of("Can't find Amenities with ids: " + missingIds));
+            }
+        }
+        return rows;
+    }
+
+    private Map<String, Integer> readCsvHeader(String header) {
+        if (header == null) {
+            return Map.of();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim(), i);
+        }
+        List<String> missingColumns = REQUIRED_COLUMNS.stream()
+                .filter(name -> !columns.containsKey(name))
+                .toList();
+        if (!missingColumns.isEmpty()) {
+            throw new IllegalArgumentException("CSV header misses columns: " + missingColumns);
+        }
+        return columns;
+    }
+
+    private AccommodationRequestDto parseCsvRow(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsvLine(line);
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size()
+                    + " values but got " + values.size());
+        }
+        String amenityIds = columns.containsKey(AMENITY_IDS_COLUMN)
+                ? values.get(columns.get(AMENITY_IDS_COLUMN))
+                : "";
+        String dailyRate = values.get(columns.get("dailyRate"));
+        String availability = values.get(columns.get("availability"));
+        return new AccommodationRequestDto(
+                emptyToNull(values.get(columns.get("type"))),
+                emptyToNull(values.get(columns.get("location"))),
+                emptyToNull(values.get(columns.get("size"))),
+                amenityIds.isBlank() ? null : Arrays.stream(amenityIds.split(";"))
+                        .map(String::trim)
+                        .map(Long::valueOf)
+                        .collect(Collectors.toCollection(HashSet::new)),
+                dailyRate.isBlank() ? null : new BigDecimal(dailyRate.trim()),
+                availability.isBlank() ? null : Integer.valueOf(availability.trim()));
+    }
+
+    private String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180 quoting without line breaks inside values
+    private List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        int position = 0;
+        while (position < line.length()) {
+            char symbol = line.charAt(position);
+            if (quoted && symbol == '"' && position + 1 < line.length()
+                    && line.charAt(position + 1) == '"') {
+                value.append('"');
+                position++;
+            } else if (symbol == '"') {
+                quoted = !quoted;
+            } else if (symbol == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(symbol);
+            }
+            position++;
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    private record ImportRow(long line, AccommodationRequestDto requestDto) {
+    }
+
+    private class ImportRun {
+        private final Writer writer;
+        private final List<ImportRow> pending = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        private ImportRun(Writer writer) {
+            this.writer = writer;
+        }
+
+        private void reject(long line, List<String> errors) throws IOException {
+            failed++;
+            write(new ImportRowErrorDto(line, errors));
+        }
+
+        // one JSON document per line, written as soon as the row is rejected
+        private void write(Object reportLine) throws IOException {
+            writer.write(objectMapper.writeValueAsString(reportLine));
+            writer.write('\n');
+        }
+    }
+}
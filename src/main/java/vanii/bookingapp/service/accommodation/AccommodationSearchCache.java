@@ -0,0 +1,169 @@
+package vanii.bookingapp.service.accommodation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
+import vanii.bookingapp.dto.accomodation.AccommodationSearchParameters;
+
+@Component
+public class AccommodationSearchCache {
+    private static final int ENTRY_BYTES = 512;
+    private static final int ROW_BYTES = 256;
+    private final Cache<SearchKey, List<AccommodationResponseDto>> results;
+
+    public AccommodationSearchCache(
+            @Value("${accommodation.search-cache.max-bytes:16777216}") long maxBytes,
+            @Value("${accommodation.search-cache.ttl-seconds:300}") long ttlSeconds,
+            MeterRegistry meterRegistry
+    ) {
+        results = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((SearchKey key, List<AccommodationResponseDto> rows) ->
+                        estimateBytes(rows))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        Gauge.builder("accommodation.search.cache.hit.ratio", results,
+                        cache -> cache.stats().hitRate())
+                .description("Share of searches answered from the cache")
+                .register(meterRegistry);
+        Gauge.builder("accommodation.search.cache.size", results, Cache::estimatedSize)
+                .description("Cached search result pages")
+                .register(meterRegistry);
+        Gauge.builder("accommodation.search.cache.bytes", results, cache -> cache.policy()
+                        .eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .description("Estimated memory held by cached search results")
+                .register(meterRegistry);
+    }
+
+    // a caller changing a returned row must neither change the cached page nor the search index
+    public List<AccommodationResponseDto> get(
+            Pageable pageable,
+            AccommodationSearchParameters searchParameters,
+            Supplier<List<AccommodationResponseDto>> search
+    ) {
+        return copyOf(results.get(SearchKey.of(pageable, searchParameters),
+                key -> copyOf(search.get())));
+    }
+
+    // an entry is stale only if the accommodation matched its filters before or after the change
+    public void invalidate(AccommodationResponseDto... states) {
+        List<AccommodationResponseDto> changed = Arrays.asList(states);
+        Runnable invalidation = () -> results.asMap().keySet().removeIf(key ->
+                changed.stream().anyMatch(key::matches));
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            invalidation.run();
+                        }
+                    });
+        }
+    }
+
+    public double hitRatio() {
+        return results.stats().hitRate();
+    }
+
+    private static List<AccommodationResponseDto> copyOf(List<AccommodationResponseDto> rows) {
+        return rows.stream()
+                .map(row -> new AccommodationResponseDto()
+                        .setId(row.getId())
+                        .setType(row.getType())
+                        .setLocation(row.getLocation())
+                        .setSize(row.getSize())
+                        .setAmenityIds(row.getAmenityIds() == null
+                                ? null
+                                : new HashSet<>(row.getAmenityIds()))
+                        .setDailyRate(row.getDailyRate())
+                        .setAvailability(row.getAvailability()))
+                .toList();
+    }
+
+    private static int estimateBytes(List<AccommodationResponseDto> rows) {
+        return ENTRY_BYTES + rows.size() * ROW_BYTES;
+    }
+
+    record SearchKey(
+            SortedSet<String> types,
+            SortedSet<String> locations,
+            BigDecimal minDailyRate,
+            BigDecimal maxDailyRate,
+            Integer minAvailable,
+            SortedSet<Long> amenityIds,
+            Pageable pageable
+    ) {
+        static SearchKey of(Pageable pageable, AccommodationSearchParameters searchParameters) {
+            return new SearchKey(
+                    sorted(searchParameters.getType(), Function.identity()),
+                    sorted(searchParameters.getLocation(), Function.identity()),
+                    rates(searchParameters.getMinDailyRate()).stream()
+                            .min(BigDecimal::compareTo)
+                            .orElse(null),
+                    rates(searchParameters.getMaxDailyRate()).stream()
+                            .max(BigDecimal::compareTo)
+                            .orElse(null),
+                    sorted(searchParameters.getMinAvailable(), Integer::valueOf).stream()
+                            .findFirst()
+                            .orElse(null),
+                    sorted(searchParameters.getAmenities(), Long::valueOf),
+                    pageable);
+        }
+
+        boolean matches(AccommodationResponseDto accommodation) {
+            return accommodation != null
+                    && (types.isEmpty() || accommodation.getType() != null
+                            && types.contains(accommodation.getType().name()))
+                    && (locations.isEmpty() || locations.contains(accommodation.getLocation()))
+                    && (minDailyRate == null || accommodation.getDailyRate() != null
+                            && accommodation.getDailyRate().compareTo(minDailyRate) >= 0)
+                    && (maxDailyRate == null || accommodation.getDailyRate() != null
+                            && accommodation.getDailyRate().compareTo(maxDailyRate) <= 0)
+                    && (minAvailable == null || accommodation.getAvailability() != null
+                            && accommodation.getAvailability() >= minAvailable)
+                    && (amenityIds.isEmpty() || accommodation.getAmenityIds() != null
+                            && accommodation.getAmenityIds().containsAll(amenityIds));
+        }
+
+        private static <T extends Comparable<T>> SortedSet<T> sorted(
+                String[] params,
+                Function<String, T> parser
+        ) {
+            if (params == null) {
+                return new TreeSet<>();
+            }
+            return Arrays.stream(params)
+                    .map(parser)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        // 10 and 10.00 must share an entry
+        private static Set<BigDecimal> rates(String[] params) {
+            return sorted(params, BigDecimal::new).stream()
+                    .map(BigDecimal::stripTrailingZeros)
+                    .collect(Collectors.toSet());
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package vanii.bookingapp.service.accommodation;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
+import vanii.bookingapp.dto.accomodation.AccommodationSearchParameters;
+import vanii.bookingapp.mapper.AccommodationMapper;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+
+@Component
+public class AccommodationSearchIndex {
+    private static final int INITIAL_CAPACITY = 256;
+    private final AccommodationRepository accommodationRepository;
+    private final AccommodationMapper mapper;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    private final Map<String, BitSet> slotsByType = new HashMap<>();
+    private final Map<String, BitSet> slotsByLocation = new HashMap<>();
+    private final Map<Long, BitSet> slotsByAmenity = new HashMap<>();
+    private final BitSet liveSlots = new BitSet();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private double[] dailyRates = new double[INITIAL_CAPACITY];
+    private int[] availabilities = new int[INITIAL_CAPACITY];
+    private AccommodationResponseDto[] rows = new AccommodationResponseDto[INITIAL_CAPACITY];
+    private int size;
+    private volatile boolean ready;
+
+    public AccommodationSearchIndex(
+            AccommodationRepository accommodationRepository,
+            AccommodationMapper mapper,
+            @Value("${accommodation.search-index.enabled:false}") boolean enabled
+    ) {
+        this.accommodationRepository = accommodationRepository;
+        this.mapper = mapper;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            clear();
+            accommodationRepository.findAll(Sort.by("id")).forEach(this::put);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // empty means the caller has to fall back to the Specification path
+    public Optional<List<AccommodationResponseDto>> search(
+            Pageable pageable,
+            AccommodationSearchParameters searchParameters
+    ) {
+        if (!ready || pageable.getSort().isSorted()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            BitSet matches = (BitSet) liveSlots.clone();
+            matches.and(union(slotsByType, searchParameters.getType()));
+            matches.and(union(slotsByLocation, searchParameters.getLocation()));
+            filterByAmenities(matches, searchParameters.getAmenities());
+            filterByRange(matches, searchParameters);
+            List<AccommodationResponseDto> result = matches.stream()
+                    .boxed()
+                    .sorted(Comparator.comparingLong(slot -> ids[slot]))
+                    .skip(pageable.isPaged() ? pageable.getOffset() : 0)
+                    .limit(pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE)
+                    .map(slot -> rows[slot])
+                    .toList();
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Accommodation accommodation) {
+        if (!enabled) {
+            return;
+        }
+        AccommodationResponseDto row = mapper.toDto(accommodation);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(row.getId());
+                put(row);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void evict(Long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private void put(Accommodation accommodation) {
+        put(mapper.toDto(accommodation));
+    }
+
+    private void put(AccommodationResponseDto row) {
+        int slot = nextSlot();
+        ids[slot] = row.getId();
+        dailyRates[slot] = row.getDailyRate() == null ? 0 : row.getDailyRate().doubleValue();
+        availabilities[slot] = row.getAvailability() == null ? 0 : row.getAvailability();
+        rows[slot] = row;
+        slotsById.put(row.getId(), slot);
+        if (row.getType() != null) {
+            slotsByType.computeIfAbsent(row.getType().name(), key -> new BitSet()).set(slot);
+        }
+        if (row.getLocation() != null) {
+            slotsByLocation.computeIfAbsent(row.getLocation(), key -> new BitSet()).set(slot);
+        }
+        if (row.getAmenityIds() != null) {
+            row.getAmenityIds().forEach(amenityId -> slotsByAmenity
+                    .computeIfAbsent(amenityId, key -> new BitSet()).set(slot));
+        }
+        liveSlots.set(slot);
+    }
+
+    // index() removes before it puts, so an updated row takes its old slot back
+    private int nextSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            dailyRates = Arrays.copyOf(dailyRates, capacity);
+            availabilities = Arrays.copyOf(availabilities, capacity);
+            rows = Arrays.copyOf(rows, capacity);
+        }
+        return size++;
+    }
+
+    private void remove(Long id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return;
+        }
+        AccommodationResponseDto row = rows[slot];
+        if (row.getType() != null) {
+            clearSlot(slotsByType, row.getType().name(), slot);
+        }
+        if (row.getLocation() != null) {
+            clearSlot(slotsByLocation, row.getLocation(), slot);
+        }
+        if (row.getAmenityIds() != null) {
+            row.getAmenityIds().forEach(amenityId -> clearSlot(slotsByAmenity, amenityId, slot));
+        }
+        liveSlots.clear(slot);
+        rows[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    private <K> void clearSlot(Map<K, BitSet> slotsByKey, K key, int slot) {
+        BitSet slots = slotsByKey.get(key);
+        if (slots != null) {
+            slots.clear(slot);
+            if (slots.isEmpty()) {
+                slotsByKey.remove(key);
+            }
+        }
+    }
+
+    private void clear() {
+        ready = false;
+        size = 0;
+        liveSlots.clear();
+        freeSlots.clear();
+        slotsById.clear();
+        slotsByType.clear();
+        slotsByLocation.clear();
+        slotsByAmenity.clear();
+        Arrays.fill(rows, null);
+    }
+
+    private BitSet union(Map<String, BitSet> slotsByKey, String[] keys) {
+        if (keys == null || keys.length == 0) {
+            return liveSlots;
+        }
+        BitSet union = new BitSet();
+        for (String key : keys) {
+            BitSet slots = slotsByKey.get(key);
+            if (slots != null) {
+                union.or(slots);
+            }
+        }
+        return union;
+    }
+
+    private void filterByAmenities(BitSet matches, String[] amenityIds) {
+        if (!hasValues(amenityIds)) {
+            return;
+        }
+        for (String amenityId : amenityIds) {
+            BitSet slots = slotsByAmenity.get(Long.valueOf(amenityId));
+            if (slots == null) {
+                matches.clear();
+                return;
+            }
+            matches.and(slots);
+        }
+    }
+
+    private void filterByRange(BitSet matches, AccommodationSearchParameters searchParameters) {
+        double minDailyRate = hasValues(searchParameters.getMinDailyRate())
+                ? Arrays.stream(searchParameters.getMinDailyRate())
+                        .map(BigDecimal::new)
+                        .min(BigDecimal::compareTo)
+                        .get()
+                        .doubleValue()
+                : Double.NEGATIVE_INFINITY;
+        double maxDailyRate = hasValues(searchParameters.getMaxDailyRate())
+                ? Arrays.stream(searchParameters.getMaxDailyRate())
+                        .map(BigDecimal::new)
+                        .max(BigDecimal::compareTo)
+                        .get()
+                        .doubleValue()
+                : Double.POSITIVE_INFINITY;
+        int minAvailable = hasValues(searchParameters.getMinAvailable())
+                ? Arrays.stream(searchParameters.getMinAvailable())
+                        .mapToInt(Integer::parseInt)
+                        .min()
+                        .getAsInt()
+                : Integer.MIN_VALUE;
+        for (int slot = matches.nextSetBit(0); slot >= 0; slot = matches.nextSetBit(slot + 1)) {
+            if (dailyRates[slot] < minDailyRate
+                    || dailyRates[slot] > maxDailyRate
+                    || availabilities[slot] < minAvailable) {
+                matches.clear(slot);
+            }
+        }
+    }
+
+    private boolean hasValues(String[] params) {
+        return params != null && params.length > 0;
+    }
+
+    // writes committed while warming up wait for the write lock and are applied after it
+    private void afterCommit(Runnable update) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            update.run();
+                        }
+                    });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -6,6 +6,8 @@ import vanii.bookingapp.dto.accomodation.AccommodationRequestDto;
 import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
 import vanii.bookingapp.dto.accomodation.AccommodationSearchParameters;
 import vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
 import vanii.bookingapp.model.Accommodation;
 
 public interface AccommodationService {
@@ -15,11 +17,23 @@ public interface AccommodationService {
 
     List<AccommodationResponseDto> getAll(Pageable pageable);
 
+    CursorPageDto<AccommodationResponseDto> getAll(CursorRequestDto cursorRequest);
+
     List<AccommodationWithoutAmenityIdsDto> getAllByAmenityId(Pageable pageable, Long amenityId);
 
+    CursorPageDto<AccommodationWithoutAmenityIdsDto> getAllByAmenityId(
+            CursorRequestDto cursorRequest,
+            Long amenityId
+    );
+
     List<AccommodationResponseDto> search(Pageable pageable,
                                           AccommodationSearchParameters searchParameters);
 
+    CursorPageDto<AccommodationResponseDto> search(
+            CursorRequestDto cursorRequest,
+            AccommodationSearchParameters searchParameters
+    );
+
     AccommodationResponseDto update(AccommodationRequestDto requestDto, Long id);
 
     void delete(Long id);
@@ -1,9 +1,19 @@
 package vanii.bookingapp.service.accommodation;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,44 +21,63 @@ import vanii.bookingapp.dto.accomodation.AccommodationRequestDto;
 import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
 import vanii.bookingapp.dto.accomodation.AccommodationSearchParameters;
 import vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
 import vanii.bookingapp.mapper.AccommodationMapper;
 import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.repository.accommodation.AccommodationRepository;
 import vanii.bookingapp.repository.accommodation.AccommodationSpecificationBuilder;
 import vanii.bookingapp.repository.amenity.AmenityRepository;
+import vanii.bookingapp.service.cursor.KeysetCursor;
 import vanii.bookingapp.service.notification.NotificationService;
 
 @Service
 @RequiredArgsConstructor
 public class AccommodationServiceImpl implements AccommodationService {
+    private static final Map<String, Function<AccommodationWithoutAmenityIdsDto, Object>>
+            CURSOR_KEYS = Map.of(
+                    "id", AccommodationWithoutAmenityIdsDto::id,
+                    "dailyRate", AccommodationWithoutAmenityIdsDto::dailyRate);
     private final NotificationService notificationService;
     private final AccommodationRepository accommodationRepository;
     private final AmenityRepository amenityRepository;
     private final AccommodationMapper mapper;
     private final AccommodationSpecificationBuilder specificationBuilder;
+    private final AccommodationSearchIndex searchIndex;
+    private final AccommodationSearchCache searchCache;
 
     @Override
     @Transactional
     public AccommodationResponseDto save(AccommodationRequestDto requestDto) {
-        if (requestDto.amenityIds() != null) {
-            requestDto.amenityIds().forEach(this::verifyValidAmenity);
-        }
+        verifyValidAmenities(requestDto.amenityIds());
         Accommodation accommodation = accommodationRepository.save(mapper.toModel(requestDto));
         notificationService.notifyNewAccommodation(accommodation);
-        return mapper.toDto(accommodation);
+        searchIndex.index(accommodation);
+        AccommodationResponseDto responseDto = mapper.toDto(accommodation);
+        searchCache.invalidate(responseDto);
+        return responseDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public AccommodationResponseDto getById(Long id) {
-        return mapper.toDto(getAccommodationOrThrowException(id));
+        return accommodationRepository.findRowById(id)
+                .map(row -> withAmenityIds(List.of(row)).get(0))
+                .orElseThrow(() ->
+                        new EntityNotFoundException("Can't find Accommodation with id: " + id));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AccommodationResponseDto> getAll(Pageable pageable) {
-        return accommodationRepository.findAll(pageable)
-                .stream()
-                .map(mapper::toDto)
-                .toList();
+        return withAmenityIds(accommodationRepository.findRows(
+                Specification.where(null), pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<AccommodationResponseDto> getAll(CursorRequestDto cursorRequest) {
+        return scroll(Specification.where(null), cursorRequest, this::withAmenityIds);
     }
 
     @Override
@@ -63,28 +92,62 @@ public class AccommodationServiceImpl implements AccommodationService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<AccommodationWithoutAmenityIdsDto> getAllByAmenityId(
+            CursorRequestDto cursorRequest,
+            Long amenityId
+    ) {
+        Specification<Accommodation> specification = specificationBuilder.build(
+                new AccommodationSearchParameters()
+                        .setAmenities(new String[] {String.valueOf(amenityId)}));
+        return scroll(specification, cursorRequest, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<AccommodationResponseDto> search(
             Pageable pageable,
             AccommodationSearchParameters searchParameters
     ) {
-        Specification<Accommodation> specification = specificationBuilder.build(searchParameters);
-        return accommodationRepository.findAll(specification, pageable)
-                .stream()
-                .map(mapper::toDto)
-                .toList();
+        return searchCache.get(pageable, searchParameters, () -> searchIndex
+                .search(pageable, searchParameters)
+                .orElseGet(() -> {
+                    Specification<Accommodation> specification =
+                            specificationBuilder.build(searchParameters);
+                    return withAmenityIds(
+                            accommodationRepository.findRows(specification, pageable));
+                }));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<AccommodationResponseDto> search(
+            CursorRequestDto cursorRequest,
+            AccommodationSearchParameters searchParameters
+    ) {
+        return scroll(specificationBuilder.build(searchParameters), cursorRequest,
+                this::withAmenityIds);
     }
 
     @Override
     public AccommodationResponseDto update(AccommodationRequestDto requestDto, Long id) {
+        verifyValidAmenities(requestDto.amenityIds());
         Accommodation model = getAccommodationOrThrowException(id);
+        AccommodationResponseDto oldState = mapper.toDto(model);
         mapper.updateAccommodation(model, requestDto);
-        return mapper.toDto(accommodationRepository.save(model));
+        Accommodation savedAccommodation = accommodationRepository.save(model);
+        searchIndex.index(savedAccommodation);
+        AccommodationResponseDto responseDto = mapper.toDto(savedAccommodation);
+        searchCache.invalidate(oldState, responseDto);
+        return responseDto;
     }
 
     @Override
     public void delete(Long id) {
-        getAccommodationOrThrowException(id);
+        Accommodation accommodation = getAccommodationOrThrowException(id);
         accommodationRepository.deleteById(id);
+        searchIndex.evict(id);
+        searchCache.invalidate(mapper.toDto(accommodation));
     }
 
     @Override
@@ -93,10 +156,67 @@ public class AccommodationServiceImpl implements AccommodationService {
                 new EntityNotFoundException("Can't find Accommodation with id: " + id));
     }
 
-    private void verifyValidAmenity(Long amenityId) {
-        if (!amenityRepository.existsById(amenityId)) {
-            throw new EntityNotFoundException("Can't find Amenity with id: "
-                    + amenityId);
+    // one grouped query for the amenity ids of the whole page instead of a join per row
+    private List<AccommodationResponseDto> withAmenityIds(
+            List<AccommodationWithoutAmenityIdsDto> rows
+    ) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<Long>> amenityIdsByAccommodation = new HashMap<>();
+        accommodationRepository.findAmenityIds(rows.stream()
+                        .map(AccommodationWithoutAmenityIdsDto::id)
+                        .toList())
+                .forEach(view -> amenityIdsByAccommodation.put(view.getAccommodationId(),
+                        new HashSet<>(Arrays.asList(view.getAmenityIds()))));
+        return rows.stream()
+                .map(row -> mapper.toDto(row, amenityIdsByAccommodation
+                        .getOrDefault(row.id(), new HashSet<>())))
+                .toList();
+    }
+
+    private <T> CursorPageDto<T> scroll(
+            Specification<Accommodation> specification,
+            CursorRequestDto cursorRequest,
+            Function<List<AccommodationWithoutAmenityIdsDto>, List<T>> toDtos
+    ) {
+        Sort sort = getCursorOrder(cursorRequest.order());
+        int limit = KeysetCursor.limit(cursorRequest);
+        List<AccommodationWithoutAmenityIdsDto> rows = accommodationRepository.findRows(
+                specification,
+                (KeysetScrollPosition) KeysetCursor.position(cursorRequest, sort),
+                sort,
+                limit + 1);
+        return KeysetCursor.toPage(rows, limit, row -> cursorKeys(row, sort), toDtos);
+    }
+
+    private Map<String, Object> cursorKeys(AccommodationWithoutAmenityIdsDto row, Sort sort) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        sort.forEach(order -> keys.put(order.getProperty(),
+                CURSOR_KEYS.get(order.getProperty()).apply(row)));
+        return keys;
+    }
+
+    private Sort getCursorOrder(String order) {
+        if (order == null || order.equals("id")) {
+            return KeysetCursor.BY_ID;
+        }
+        if (order.equals("daily_rate")) {
+            return KeysetCursor.BY_DAILY_RATE;
+        }
+        throw new IllegalArgumentException("Unsupported order: " + order
+                + ". Supported orders: id, daily_rate");
+    }
+
+    // one IN query for the whole set, and every missing id is reported at once
+    private void verifyValidAmenities(Set<Long> amenityIds) {
+        if (amenityIds == null || amenityIds.isEmpty()) {
+            return;
+        }
+        Set<Long> missingIds = new TreeSet<>(amenityIds);
+        missingIds.removeAll(amenityRepository.findExistingIds(amenityIds));
+        if (!missingIds.isEmpty()) {
+            throw new EntityNotFoundException("Can't find Amenities with ids: " + missingIds);
         }
     }
 }
@@ -4,6 +4,8 @@ import java.util.List;
 import vanii.bookingapp.dto.booking.BookingRequestDto;
 import vanii.bookingapp.dto.booking.BookingResponseDto;
 import vanii.bookingapp.dto.booking.UpdateStatusDto;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
 import vanii.bookingapp.model.Booking;
 
 public interface BookingService {
@@ -13,6 +15,8 @@ public interface BookingService {
 
     List<BookingResponseDto> getBookingsOfCurrentUser();
 
+    CursorPageDto<BookingResponseDto> getBookingsOfCurrentUser(CursorRequestDto cursorRequest);
+
     List<BookingResponseDto> getBookingsByUserIdAndStatus(Long userId, Booking.Status status);
 
     BookingResponseDto updateMyBooking(BookingRequestDto request, Long id);
@@ -1,29 +1,44 @@
 package vanii.bookingapp.service.booking;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.sql.SQLException;
 import java.time.DateTimeException;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import vanii.bookingapp.dto.booking.BookingRequestDto;
 import vanii.bookingapp.dto.booking.BookingResponseDto;
 import vanii.bookingapp.dto.booking.UpdateStatusDto;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
+import vanii.bookingapp.exception.EntityCannotBeUsedException;
 import vanii.bookingapp.exception.UnpaidBookingException;
 import vanii.bookingapp.mapper.BookingMapper;
-import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.model.Booking;
 import vanii.bookingapp.model.Payment;
 import vanii.bookingapp.model.User;
-import vanii.bookingapp.repository.accommodation.AccommodationRepository;
 import vanii.bookingapp.repository.booking.BookingRepository;
+import vanii.bookingapp.repository.booking.BookingView;
 import vanii.bookingapp.repository.payment.PaymentRepository;
+import vanii.bookingapp.scheduling.SchedulerLeaseManager;
+import vanii.bookingapp.scheduling.SchedulerLock;
 import vanii.bookingapp.service.accommodation.AccommodationService;
+import vanii.bookingapp.service.cursor.KeysetCursor;
+import vanii.bookingapp.service.hold.BookingHoldService;
+import vanii.bookingapp.service.inventory.InventoryService;
+import vanii.bookingapp.service.inventory.OccupancyIndex;
+import vanii.bookingapp.service.lock.AccommodationLockManager;
 import vanii.bookingapp.service.notification.NotificationService;
 import vanii.bookingapp.service.user.UserService;
 
@@ -31,13 +46,22 @@ import vanii.bookingapp.service.user.UserService;
 @Transactional
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String STAY_EXCLUSION_CONSTRAINT = "ex_bookings_user_accommodation_stay";
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
     private final NotificationService notificationService;
     private final UserService userService;
     private final AccommodationService accommodationService;
+    private final InventoryService inventoryService;
+    private final OccupancyIndex occupancyIndex;
+    private final BookingHoldService holdService;
+    private final AccommodationLockManager lockManager;
+    private final SchedulerLeaseManager leaseManager;
     private final BookingRepository bookingRepository;
-    private final AccommodationRepository accommodationRepository;
     private final PaymentRepository paymentRepository;
     private final BookingMapper bookingMapper;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${booking.expiration.chunk-size:500}")
+    private int expirationChunkSize;
 
     @Override
     public BookingResponseDto save(BookingRequestDto requestDto) {
@@ -46,8 +70,17 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingMapper.toModel(requestDto);
         booking.setStatus(Booking.Status.PENDING);
         booking.setUser(new User().setId(userService.getCurrentUser().getId()));
-        adjustAvailabilityOfAccommodationById(requestDto.accommodationId(), -1);
-        Booking savedBooking = bookingRepository.save(booking);
+        booking.setHoldExpiresAt(holdService.newHoldExpiration());
+        lockManager.lock(requestDto.accommodationId());
+        if (!occupancyIndex.hasFreeUnits(requestDto.accommodationId(),
+                requestDto.checkInDate(), requestDto.checkOutDate())) {
+            throw noAvailableAccommodations(requestDto.accommodationId(),
+                    requestDto.checkInDate(), requestDto.checkOutDate());
+        }
+        inventoryService.reserve(requestDto.accommodationId(),
+                requestDto.checkInDate(), requestDto.checkOutDate());
+        Booking savedBooking = saveWithoutOverlap(booking);
+        holdService.hold(savedBooking.getId(), savedBooking.getHoldExpiresAt());
         notificationService.notifyNewBooking(savedBooking);
         return bookingMapper.toDto(savedBooking);
     }
@@ -59,6 +92,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingResponseDto> getBookingsOfCurrentUser() {
         return bookingRepository.getBookingsByUserId(
                 userService.getCurrentUser().getId())
@@ -67,14 +101,41 @@ public class BookingServiceImpl implements BookingService {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<BookingResponseDto> getBookingsOfCurrentUser(
+            CursorRequestDto cursorRequest
+    ) {
+        int limit = KeysetCursor.limit(cursorRequest);
+        List<BookingView> bookings = bookingRepository.getBookingsByUserIdAfter(
+                userService.getCurrentUser().getId(), KeysetCursor.afterId(cursorRequest),
+                limit + 1);
+        return KeysetCursor.toPage(bookings, limit,
+                booking -> Map.of("id", booking.getId()),
+                page -> page.stream().map(bookingMapper::toDto).toList());
+    }
+
     @Override
     public BookingResponseDto updateMyBooking(BookingRequestDto request, Long id) {
         verifyBookingIdForCurrentUser(id);
-        Booking booking = getBookingOrThrowException(id);
+        Booking booking = getBookingForUpdateOrThrowException(id);
+        Long oldAccommodationId = booking.getAccommodation().getId();
+        lockManager.lock(oldAccommodationId, request.accommodationId());
+        LocalDate oldCheckInDate = booking.getCheckInDate();
+        LocalDate oldCheckOutDate = booking.getCheckOutDate();
         bookingMapper.updateBooking(booking, request);
         handleAccommodationChange(booking, request);
         validateDates(booking.getCheckInDate(), booking.getCheckOutDate());
-        return bookingMapper.toDto(bookingRepository.save(booking));
+        boolean isStayChanged = !Objects.equals(
+                oldAccommodationId, booking.getAccommodation().getId())
+                || !oldCheckInDate.equals(booking.getCheckInDate())
+                || !oldCheckOutDate.equals(booking.getCheckOutDate());
+        if (isStayChanged && isPendingOrConfirmed(booking.getStatus())) {
+            checkFreeUnits(booking, oldAccommodationId, oldCheckInDate, oldCheckOutDate);
+            inventoryService.release(oldAccommodationId, oldCheckInDate, oldCheckOutDate);
+            reserve(booking);
+        }
+        return bookingMapper.toDto(saveWithoutOverlap(booking));
     }
 
     @Override
@@ -89,13 +150,12 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public void updateStatus(Long id, UpdateStatusDto status) {
-        Booking booking = getBookingOrThrowException(id);
+        Booking booking = getBookingForUpdateOrThrowException(id);
         Booking.Status newStatus = status.status();
         Booking.Status oldStatus = booking.getStatus();
-        Integer oldAvailability = booking.getAccommodation().getAvailability();
         if (newStatus != oldStatus) {
+            lockManager.lock(booking.getAccommodation().getId());
             handleStatusChange(booking, oldStatus, newStatus);
-            handleAccommodationNotification(booking.getAccommodation(), oldAvailability);
         }
         booking.setStatus(newStatus);
         bookingRepository.save(booking);
@@ -104,9 +164,10 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public void delete(Long id) {
         verifyBookingIdForCurrentUser(id);
-        Booking booking = getBookingOrThrowException(id);
+        Booking booking = getBookingForUpdateOrThrowException(id);
         if (isPendingOrConfirmed(booking.getStatus())) {
-            adjustAvailabilityOfAccommodationById(booking.getAccommodation().getId(), 1);
+            lockManager.lock(booking.getAccommodation().getId());
+            release(booking);
             notificationService.notifyAccommodationRelease(booking.getAccommodation());
         }
         booking.setStatus(Booking.Status.CANCELED);
@@ -121,30 +182,107 @@ public class BookingServiceImpl implements BookingService {
                 new EntityNotFoundException("Can't find Booking with id: " + id));
     }
 
+    // the row lock serializes status and stay changes of one Booking, so two concurrent
+    // transitions can't both see it active and release its nights twice
+    private Booking getBookingForUpdateOrThrowException(Long id) {
+        return bookingRepository.findByIdForUpdate(id).orElseThrow(() ->
+                new EntityNotFoundException("Can't find Booking with id: " + id));
+    }
+
     @Scheduled(cron = "0 0 7 * * ?")
+    @SchedulerLock("check-expired-bookings")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void checkExpiredBookings() {
-        List<Booking> list = bookingRepository.getBookingsByPendingAndConfirmedStatuses();
-        List<Booking> newExpiredBookings = new ArrayList<>();
-        for (Booking booking : list) {
-            if (booking.getCheckOutDate().isBefore(LocalDate.now())) {
-                booking.setStatus(Booking.Status.EXPIRED);
-                notificationService.notifyAccommodationRelease(booking.getAccommodation());
-                adjustAvailabilityOfAccommodationById(booking.getAccommodation().getId(), 1);
-                bookingRepository.save(booking);
-                newExpiredBookings.add(booking);
+        LocalDate today = LocalDate.now();
+        long lastExpiredId = 0;
+        int expiredBookings = 0;
+        List<Long> chunk;
+        do {
+            long afterId = lastExpiredId;
+            leaseManager.assertHeld();
+            chunk = transactionTemplate.execute(status -> expireChunk(today, afterId));
+            if (!chunk.isEmpty()) {
+                lastExpiredId = chunk.get(chunk.size() - 1);
+                expiredBookings += chunk.size();
             }
-        }
-        if (newExpiredBookings.isEmpty()) {
+        } while (chunk.size() == expirationChunkSize);
+        if (expiredBookings == 0) {
             notificationService.notifyNoExpiredBookingsToday();
         } else {
-            notificationService.notifyExpiredBookings(newExpiredBookings);
+            notificationService.notifyExpiredBookings(expiredBookings);
         }
     }
 
-    private void adjustAvailabilityOfAccommodationById(Long id, int num) {
-        Accommodation accommodation = accommodationService.getAccommodationOrThrowException(id);
-        accommodation.adjustAvailability(num);
-        accommodationRepository.save(accommodation);
+    private List<Long> expireChunk(LocalDate today, long afterId) {
+        List<Long> bookingIds = bookingRepository.lockExpiredBookingIds(
+                today, afterId, expirationChunkSize);
+        if (!bookingIds.isEmpty()) {
+            inventoryService.releaseBookings(bookingIds);
+            bookingRepository.expireBookings(bookingIds);
+        }
+        return bookingIds;
+    }
+
+    private void checkFreeUnits(
+            Booking booking,
+            Long oldAccommodationId,
+            LocalDate oldCheckInDate,
+            LocalDate oldCheckOutDate
+    ) {
+        Long accommodationId = booking.getAccommodation().getId();
+        boolean hasFreeUnits = accommodationId.equals(oldAccommodationId)
+                ? occupancyIndex.hasFreeUnitsAfterRelease(accommodationId,
+                        booking.getCheckInDate(), booking.getCheckOutDate(),
+                        oldCheckInDate, oldCheckOutDate)
+                : occupancyIndex.hasFreeUnits(accommodationId,
+                        booking.getCheckInDate(), booking.getCheckOutDate());
+        if (!hasFreeUnits) {
+            throw noAvailableAccommodations(accommodationId,
+                    booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+    }
+
+    private EntityCannotBeUsedException noAvailableAccommodations(
+            Long accommodationId,
+            LocalDate checkInDate,
+            LocalDate checkOutDate
+    ) {
+        return new EntityCannotBeUsedException("There is no available Accommodations from "
+                + checkInDate + " to " + checkOutDate + ". AccommodationId: " + accommodationId);
+    }
+
+    // ex_bookings_user_accommodation_stay rejects a second active stay of the same User in the
+    // same Accommodation, flushing here surfaces it as a client error instead of a failed commit
+    private Booking saveWithoutOverlap(Booking booking) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!violatesStayExclusion(e)) {
+                throw e;
+            }
+            throw new EntityCannotBeUsedException("You already have a Booking of Accommodation "
+                    + booking.getAccommodation().getId() + " overlapping "
+                    + booking.getCheckInDate() + " - " + booking.getCheckOutDate());
+        }
+    }
+
+    private boolean violatesStayExclusion(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null) {
+            return STAY_EXCLUSION_CONSTRAINT.equals(violation.getConstraintName());
+        }
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState());
+    }
+
+    private void reserve(Booking booking) {
+        inventoryService.reserve(booking.getAccommodation().getId(),
+                booking.getCheckInDate(), booking.getCheckOutDate());
+    }
+
+    private void release(Booking booking) {
+        inventoryService.release(booking.getAccommodation().getId(),
+                booking.getCheckInDate(), booking.getCheckOutDate());
     }
 
     private void validateDates(LocalDate checkInDate, LocalDate checkOutDate) {
@@ -172,8 +310,6 @@ public class BookingServiceImpl implements BookingService {
         if (request.accommodationId() != null) {
             if (!Objects.equals(request.accommodationId(), oldBooking.getAccommodation().getId())
                     && isPendingOrConfirmed(oldBooking.getStatus())) {
-                adjustAvailabilityOfAccommodationById(oldBooking.getAccommodation().getId(), 1);
-                adjustAvailabilityOfAccommodationById(request.accommodationId(), -1);
                 notificationService.notifyAccommodationRelease(oldBooking.getAccommodation());
             }
             oldBooking.setAccommodation(accommodationService
@@ -186,21 +322,12 @@ public class BookingServiceImpl implements BookingService {
             Booking.Status oldStatus,
             Booking.Status newStatus
     ) {
-        Long accommodationId = booking.getAccommodation().getId();
-        if (isPendingOrConfirmed(oldStatus)) {
-            adjustAvailabilityOfAccommodationById(accommodationId, 1);
-        }
-        if (isPendingOrConfirmed(newStatus)) {
-            adjustAvailabilityOfAccommodationById(accommodationId, -1);
+        if (isPendingOrConfirmed(oldStatus) && !isPendingOrConfirmed(newStatus)) {
+            release(booking);
+            notificationService.notifyAccommodationRelease(booking.getAccommodation());
         }
-    }
-
-    private void handleAccommodationNotification(
-            Accommodation accommodation,
-            Integer oldAvailability
-    ) {
-        if (oldAvailability < accommodation.getAvailability()) {
-            notificationService.notifyAccommodationRelease(accommodation);
+        if (!isPendingOrConfirmed(oldStatus) && isPendingOrConfirmed(newStatus)) {
+            reserve(booking);
         }
     }
 
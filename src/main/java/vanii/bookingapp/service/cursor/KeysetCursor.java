@@ -0,0 +1,92 @@
+package vanii.bookingapp.service.cursor;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
+
+public final class KeysetCursor {
+    public static final Sort BY_ID = Sort.by("id");
+    public static final Sort BY_DAILY_RATE = Sort.by("dailyRate", "id");
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+    private static final Map<String, Function<String, Object>> KEY_PARSERS = Map.of(
+            "id", Long::valueOf,
+            "dailyRate", BigDecimal::new);
+
+    private KeysetCursor() {
+    }
+
+    public static int limit(CursorRequestDto request) {
+        if (request.limit() == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(request.limit(), MAX_LIMIT));
+    }
+
+    public static ScrollPosition position(CursorRequestDto request, Sort sort) {
+        if (request.after() == null || request.after().isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String decoded = new String(Base64.getUrlDecoder().decode(request.after()),
+                StandardCharsets.UTF_8);
+        List<String> properties = sort.stream().map(Sort.Order::getProperty).toList();
+        String[] pairs = decoded.split("&");
+        if (pairs.length != properties.size()) {
+            throw new IllegalArgumentException("Cursor does not match the requested order: "
+                    + request.after());
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i++) {
+            String[] pair = pairs[i].split("=", 2);
+            if (pair.length != 2 || !pair[0].equals(properties.get(i))) {
+                throw new IllegalArgumentException("Cursor does not match the requested order: "
+                        + request.after());
+            }
+            keys.put(pair[0], KEY_PARSERS.get(pair[0]).apply(pair[1]));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    public static long afterId(CursorRequestDto request) {
+        Object id = ((KeysetScrollPosition) position(request, BY_ID)).getKeys().get("id");
+        return id == null ? 0 : (Long) id;
+    }
+
+    // rows holds one row past the limit, which tells whether there is a next page
+    public static <T, R> CursorPageDto<R> toPage(
+            List<T> rows,
+            int limit,
+            Function<T, Map<String, Object>> keys,
+            Function<List<T>, List<R>> mapper
+    ) {
+        List<T> content = rows.subList(0, Math.min(rows.size(), limit));
+        CursorPageDto<T> page = toPage(Window.from(content,
+                index -> ScrollPosition.forward(keys.apply(content.get(index))),
+                rows.size() > limit), Function.identity());
+        return new CursorPageDto<>(mapper.apply(page.content()), page.nextCursor());
+    }
+
+    public static <T, R> CursorPageDto<R> toPage(Window<T> window, Function<T, R> mapper) {
+        List<R> content = window.getContent().stream().map(mapper).toList();
+        if (!window.hasNext() || window.isEmpty()) {
+            return new CursorPageDto<>(content, null);
+        }
+        KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        String cursor = last.getKeys().entrySet().stream()
+                .map(key -> key.getKey() + "=" + key.getValue())
+                .collect(Collectors.joining("&"));
+        return new CursorPageDto<>(content, Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.getBytes(StandardCharsets.UTF_8)));
+    }
+}
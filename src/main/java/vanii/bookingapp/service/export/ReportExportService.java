@@ -0,0 +1,11 @@
+package vanii.bookingapp.service.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import vanii.bookingapp.dto.export.ExportRequestDto;
+
+public interface ReportExportService {
+    void exportBookings(ExportRequestDto exportRequest, OutputStream out) throws IOException;
+
+    void exportPayments(ExportRequestDto exportRequest, OutputStream out) throws IOException;
+}
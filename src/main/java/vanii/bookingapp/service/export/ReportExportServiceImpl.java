@@ -0,0 +1,136 @@
+package vanii.bookingapp.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.dto.export.ExportFormat;
+import vanii.bookingapp.dto.export.ExportRequestDto;
+
+@Service
+public class ReportExportServiceImpl implements ReportExportService {
+    private static final List<String> BOOKING_COLUMNS = List.of("id", "status",
+            "check_in_date", "check_out_date", "accommodation_id", "user_id");
+    private static final String BOOKINGS_QUERY = """
+            SELECT b.id, b.status, b.check_in_date, b.check_out_date,
+                    b.accommodation_id, b.user_id
+            FROM bookings b
+            WHERE b.is_deleted = false AND b.check_in_date BETWEEN ? AND ?
+            ORDER BY b.id
+            """;
+    private static final List<String> PAYMENT_COLUMNS = List.of("id", "status",
+            "booking_id", "user_id", "amount", "session_id", "check_in_date");
+    private static final String PAYMENTS_QUERY = """
+            SELECT p.id, p.status, p.booking_id, p.user_id, p.amount, p.session_id,
+                    b.check_in_date
+            FROM payments p
+            JOIN bookings b ON b.id = p.booking_id
+            WHERE p.is_deleted = false AND b.check_in_date BETWEEN ? AND ?
+            ORDER BY p.id
+            """;
+    private static final Pattern CSV_QUOTED_SYMBOLS = Pattern.compile("[\",\\r\\n]");
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    // PostgreSQL only honours fetchSize inside a transaction, otherwise the driver buffers
+    // the whole result set
+    public ReportExportServiceImpl(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            @Value("${report.export.fetch-size:1000}") int fetchSize
+    ) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void exportBookings(ExportRequestDto exportRequest, OutputStream out)
+            throws IOException {
+        export(BOOKINGS_QUERY, BOOKING_COLUMNS, exportRequest, out);
+    }
+
+    @Override
+    public void exportPayments(ExportRequestDto exportRequest, OutputStream out)
+            throws IOException {
+        export(PAYMENTS_QUERY, PAYMENT_COLUMNS, exportRequest, out);
+    }
+
+    private void export(
+            String query,
+            List<String> columns,
+            ExportRequestDto exportRequest,
+            OutputStream out
+    ) throws IOException {
+        GZIPOutputStream gzip = exportRequest.gzip() ? new GZIPOutputStream(out) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                gzip == null ? out : gzip, StandardCharsets.UTF_8));
+        ExportFormat format = exportRequest.format();
+        if (format == ExportFormat.CSV) {
+            writer.write(String.join(",", columns));
+            writer.write('\n');
+        }
+        RowCallbackHandler rowWriter = resultSet -> {
+            try {
+                writer.write(format == ExportFormat.CSV
+                        ? toCsv(resultSet, columns)
+                        : toNdjson(resultSet, columns));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                query, rowWriter, exportRequest.from(), exportRequest.to()));
+        writer.flush();
+        if (gzip != null) {
+            gzip.finish();
+        }
+    }
+
+    private String toCsv(ResultSet resultSet, List<String> columns) throws SQLException {
+        List<String> values = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            String value = resultSet.getString(column);
+            if (value != null && CSV_QUOTED_SYMBOLS.matcher(value).find()) {
+                value = '"' + value.replace("\"", "\"\"") + '"';
+            }
+            values.add(value == null ? "" : value);
+        }
+        return String.join(",", values);
+    }
+
+    private String toNdjson(ResultSet resultSet, List<String> columns)
+            throws SQLException, IOException {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (String column : columns) {
+            Object value = resultSet.getObject(column);
+            row.put(column, value instanceof Date date ? date.toLocalDate().toString() : value);
+        }
+        return objectMapper.writeValueAsString(row);
+    }
+}
@@ -0,0 +1,14 @@
+package vanii.bookingapp.service.hold;
+
+import java.time.Instant;
+import vanii.bookingapp.model.Booking;
+
+public interface BookingHoldService {
+    Instant newHoldExpiration();
+
+    void hold(Long bookingId, Instant holdExpiresAt);
+
+    Instant newPaymentExpiration();
+
+    void holdUntilPaymentExpires(Booking booking, Instant paymentExpiresAt);
+}
@@ -0,0 +1,129 @@
+package vanii.bookingapp.service.hold;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.model.Booking;
+import vanii.bookingapp.repository.booking.BookingHoldView;
+import vanii.bookingapp.repository.booking.BookingRepository;
+import vanii.bookingapp.service.inventory.InventoryService;
+
+@Service
+public class BookingHoldServiceImpl implements BookingHoldService {
+    private static final int WHEEL_LEVELS = 3;
+
+    private final BookingRepository bookingRepository;
+    private final InventoryService inventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration holdDuration;
+    private final Duration paymentDuration;
+    private final Duration paymentGrace;
+    private final HierarchicalTimingWheel<Long> wheel;
+    private final Counter expiredHolds;
+
+    public BookingHoldServiceImpl(
+            BookingRepository bookingRepository,
+            InventoryService inventoryService,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${booking.hold.duration-minutes:15}") long holdMinutes,
+            @Value("${booking.hold.tick-ms:1000}") long tickMillis,
+            @Value("${booking.hold.payment-minutes:60}") long paymentMinutes,
+            @Value("${booking.hold.payment-grace-minutes:5}") long paymentGraceMinutes
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.inventoryService = inventoryService;
+        this.transactionTemplate = transactionTemplate;
+        this.holdDuration = Duration.ofMinutes(holdMinutes);
+        this.paymentDuration = Duration.ofMinutes(paymentMinutes);
+        this.paymentGrace = Duration.ofMinutes(paymentGraceMinutes);
+        this.wheel = new HierarchicalTimingWheel<>(
+                tickMillis, WHEEL_LEVELS, System.currentTimeMillis());
+        this.expiredHolds = Counter.builder("booking.holds.expired")
+                .description("Pending bookings expired because their hold ran out")
+                .register(meterRegistry);
+        Gauge.builder("booking.holds.active", wheel, HierarchicalTimingWheel::size)
+                .description("Booking holds waiting in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Instant newHoldExpiration() {
+        return Instant.now().plus(holdDuration);
+    }
+
+    // the booking row is only visible to the expiry query once its transaction commits
+    @Override
+    public void hold(Long bookingId, Instant holdExpiresAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            wheel.add(bookingId, holdExpiresAt.toEpochMilli());
+                        }
+                    });
+        } else {
+            wheel.add(bookingId, holdExpiresAt.toEpochMilli());
+        }
+    }
+
+    // Stripe accepts checkout sessions that expire 30 minutes to 24 hours after creation
+    @Override
+    public Instant newPaymentExpiration() {
+        return Instant.now().plus(paymentDuration);
+    }
+
+    // the hold outlives the payment session, so a payment completed just before the session
+    // expires never finds the nights of its booking resold
+    @Override
+    public void holdUntilPaymentExpires(Booking booking, Instant paymentExpiresAt) {
+        Instant holdExpiresAt = paymentExpiresAt.plus(paymentGrace);
+        booking.setHoldExpiresAt(holdExpiresAt);
+        hold(booking.getId(), holdExpiresAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreHolds() {
+        for (BookingHoldView hold : bookingRepository.findPendingHolds()) {
+            wheel.add(hold.getId(), hold.getHoldExpiresAt().toEpochMilli());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${booking.hold.tick-ms:1000}")
+    public void expireHolds() {
+        List<Long> bookingIds = wheel.advanceTo(System.currentTimeMillis());
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        Integer expired;
+        try {
+            expired = transactionTemplate.execute(status -> {
+                List<Long> expiredIds = bookingRepository.lockExpiredHolds(
+                        bookingIds, Instant.now());
+                if (!expiredIds.isEmpty()) {
+                    inventoryService.releaseBookings(expiredIds);
+                    bookingRepository.expireBookings(expiredIds);
+                }
+                return expiredIds.size();
+            });
+        } catch (RuntimeException e) {
+            // the wheel already handed these holds out, they are retried on the next tick
+            long nowMillis = System.currentTimeMillis();
+            bookingIds.forEach(bookingId -> wheel.add(bookingId, nowMillis));
+            throw e;
+        }
+        expiredHolds.increment(expired == null ? 0 : expired);
+    }
+}
@@ -0,0 +1,92 @@
+package vanii.bookingapp.service.hold;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Each level has SLOTS buckets; a bucket on level n spans SLOTS^n ticks and is cascaded into
+// the lower levels when the wheel reaches it, so adding and expiring an entry is O(1)
+public class HierarchicalTimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final List<List<Entry<T>>> buckets;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final List<T> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int levels, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.buckets = new ArrayList<>(levels * SLOTS);
+        for (int i = 0; i < levels * SLOTS; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized void add(T item, long deadlineMillis) {
+        size++;
+        place(new Entry<>(item, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis)));
+    }
+
+    public synchronized List<T> advanceTo(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            if ((currentTick & ((1L << (SLOT_BITS * levels)) - 1)) == 0) {
+                List<Entry<T>> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                waiting.forEach(this::place);
+            }
+            for (int level = levels - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, slot(currentTick, level));
+                }
+            }
+            List<Entry<T>> bucket = buckets.get(slot(currentTick, 0));
+            bucket.forEach(entry -> due.add(entry.item()));
+            bucket.clear();
+        }
+        List<T> expired = new ArrayList<>(due);
+        due.clear();
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Entry<T> entry) {
+        long delay = entry.deadlineTick() - currentTick;
+        if (delay <= 0) {
+            due.add(entry.item());
+            return;
+        }
+        for (int level = 0; level < levels; level++) {
+            if (delay < 1L << (SLOT_BITS * (level + 1))) {
+                buckets.get(level * SLOTS + slot(entry.deadlineTick(), level)).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private void cascade(int level, int slot) {
+        List<Entry<T>> bucket = buckets.get(level * SLOTS + slot);
+        List<Entry<T>> entries = new ArrayList<>(bucket);
+        bucket.clear();
+        entries.forEach(this::place);
+    }
+
+    private int slot(long tick, int level) {
+        return (int) ((tick >> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
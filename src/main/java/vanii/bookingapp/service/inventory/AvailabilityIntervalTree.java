@@ -0,0 +1,77 @@
+package vanii.bookingapp.service.inventory;
+
+import java.time.LocalDate;
+
+// A sparse segment tree over stay nights with range add and range max, so booking a stay and
+// asking for the busiest night of a stay are both O(log n) in the number of days covered
+public class AvailabilityIntervalTree {
+    private static final long FIRST_DAY = LocalDate.of(2000, 1, 1).toEpochDay();
+    private static final int DAYS = 1 << 17;
+
+    private final int capacity;
+    private final Node root = new Node();
+
+    public AvailabilityIntervalTree(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized void add(LocalDate firstNight, LocalDate lastNight, int units) {
+        add(root, 0, DAYS - 1, day(firstNight), day(lastNight), units);
+    }
+
+    public synchronized boolean hasFreeUnits(LocalDate firstNight, LocalDate lastNight) {
+        return max(root, 0, DAYS - 1, day(firstNight), day(lastNight)) < capacity;
+    }
+
+    private void add(Node node, int from, int to, int first, int last, int units) {
+        if (last < from || to < first) {
+            return;
+        }
+        if (first <= from && to <= last) {
+            node.pending += units;
+            node.max += units;
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        add(node.left(), from, middle, first, last, units);
+        add(node.right(), middle + 1, to, first, last, units);
+        node.max = node.pending + Math.max(node.left.max, node.right.max);
+    }
+
+    private int max(Node node, int from, int to, int first, int last) {
+        if (node == null || last < from || to < first) {
+            return 0;
+        }
+        if (first <= from && to <= last) {
+            return node.max;
+        }
+        int middle = (from + to) >>> 1;
+        return node.pending + Math.max(max(node.left, from, middle, first, last),
+                max(node.right, middle + 1, to, first, last));
+    }
+
+    private int day(LocalDate night) {
+        return (int) Math.min(Math.max(night.toEpochDay() - FIRST_DAY, 0), DAYS - 1);
+    }
+
+    private static class Node {
+        private Node left;
+        private Node right;
+        private int pending;
+        private int max;
+
+        private Node left() {
+            if (left == null) {
+                left = new Node();
+            }
+            return left;
+        }
+
+        private Node right() {
+            if (right == null) {
+                right = new Node();
+            }
+            return right;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package vanii.bookingapp.service.inventory;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface InventoryService {
+    void reserve(Long accommodationId, LocalDate checkInDate, LocalDate checkOutDate);
+
+    void release(Long accommodationId, LocalDate checkInDate, LocalDate checkOutDate);
+
+    void releaseBookings(List<Long> bookingIds);
+}
@@ -0,0 +1,50 @@
+package vanii.bookingapp.service.inventory;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import vanii.bookingapp.exception.EntityCannotBeUsedException;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.inventory.InventoryRepository;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+    private final InventoryRepository inventoryRepository;
+    private final AccommodationRepository accommodationRepository;
+    private final OccupancyIndex occupancyIndex;
+
+    @Override
+    public void reserve(Long accommodationId, LocalDate checkInDate, LocalDate checkOutDate) {
+        LocalDate lastNight = OccupancyIndex.lastNight(checkInDate, checkOutDate);
+        int reservedNights = inventoryRepository.reserveNights(
+                accommodationId, checkInDate, lastNight);
+        if (reservedNights == 0 && !accommodationRepository.existsById(accommodationId)) {
+            throw new EntityNotFoundException("Can't find Accommodation with id: "
+                    + accommodationId);
+        }
+        if (reservedNights < ChronoUnit.DAYS.between(checkInDate, lastNight) + 1) {
+            throw new EntityCannotBeUsedException("There is no available Accommodations from "
+                    + checkInDate + " to " + checkOutDate + ". AccommodationId: "
+                    + accommodationId);
+        }
+        occupancyIndex.reserved(accommodationId, checkInDate, checkOutDate);
+    }
+
+    @Override
+    public void release(Long accommodationId, LocalDate checkInDate, LocalDate checkOutDate) {
+        inventoryRepository.releaseNights(
+                accommodationId, checkInDate, OccupancyIndex.lastNight(checkInDate, checkOutDate));
+        occupancyIndex.released(accommodationId, checkInDate, checkOutDate);
+    }
+
+    @Override
+    public void releaseBookings(List<Long> bookingIds) {
+        occupancyIndex.invalidate(inventoryRepository.releaseBookedNights(bookingIds));
+    }
+}
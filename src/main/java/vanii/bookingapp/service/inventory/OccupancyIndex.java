@@ -0,0 +1,151 @@
+package vanii.bookingapp.service.inventory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vanii.bookingapp.model.AccommodationInventory;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.inventory.InventoryRepository;
+
+// An in-process copy of accommodation_inventory that turns sold-out requests away before they
+// lock and write inventory rows. Changes from other nodes show up when an entry expires, so a
+// free answer is still confirmed by the conditional inventory update and a full answer by
+// reloading the entry
+@Component
+public class OccupancyIndex {
+    private final InventoryRepository inventoryRepository;
+    private final AccommodationRepository accommodationRepository;
+    private final Cache<Long, Optional<AvailabilityIntervalTree>> trees;
+
+    public OccupancyIndex(
+            InventoryRepository inventoryRepository,
+            AccommodationRepository accommodationRepository,
+            @Value("${booking.occupancy-index.max-size:10000}") long maxSize,
+            @Value("${booking.occupancy-index.ttl-seconds:10}") long ttlSeconds
+    ) {
+        this.inventoryRepository = inventoryRepository;
+        this.accommodationRepository = accommodationRepository;
+        this.trees = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public static LocalDate lastNight(LocalDate checkInDate, LocalDate checkOutDate) {
+        return checkOutDate.isAfter(checkInDate) ? checkOutDate.minusDays(1) : checkInDate;
+    }
+
+    public boolean hasFreeUnits(
+            Long accommodationId,
+            LocalDate checkInDate,
+            LocalDate checkOutDate
+    ) {
+        return hasFreeUnits(accommodationId,
+                tree -> tree.hasFreeUnits(checkInDate, lastNight(checkInDate, checkOutDate)));
+    }
+
+    // the nights of the stay being replaced are still booked until the update commits
+    public boolean hasFreeUnitsAfterRelease(
+            Long accommodationId,
+            LocalDate checkInDate,
+            LocalDate checkOutDate,
+            LocalDate releasedCheckInDate,
+            LocalDate releasedCheckOutDate
+    ) {
+        LocalDate releasedLastNight = lastNight(releasedCheckInDate, releasedCheckOutDate);
+        return hasFreeUnits(accommodationId, tree -> {
+            tree.add(releasedCheckInDate, releasedLastNight, -1);
+            try {
+                return tree.hasFreeUnits(checkInDate, lastNight(checkInDate, checkOutDate));
+            } finally {
+                tree.add(releasedCheckInDate, releasedLastNight, 1);
+            }
+        });
+    }
+
+    public void reserved(Long accommodationId, LocalDate checkInDate, LocalDate checkOutDate) {
+        afterCommit(accommodationId, checkInDate, checkOutDate, 1);
+    }
+
+    public void released(Long accommodationId, LocalDate checkInDate, LocalDate checkOutDate) {
+        afterCommit(accommodationId, checkInDate, checkOutDate, -1);
+    }
+
+    // a load running before the commit would cache the counts the release is about to change
+    public void invalidate(Collection<Long> accommodationIds) {
+        afterCommit(() -> trees.invalidateAll(accommodationIds));
+    }
+
+    // a full answer may come from an expired view of other nodes, a capacity change or a stay
+    // counted both by a load and by its afterCommit update, so it is confirmed by a reload
+    private boolean hasFreeUnits(
+            Long accommodationId,
+            Predicate<AvailabilityIntervalTree> check
+    ) {
+        if (test(trees.get(accommodationId, this::load), check)) {
+            return true;
+        }
+        trees.invalidate(accommodationId);
+        return test(trees.get(accommodationId, this::load), check);
+    }
+
+    private boolean test(
+            Optional<AvailabilityIntervalTree> tree,
+            Predicate<AvailabilityIntervalTree> check
+    ) {
+        if (tree.isEmpty()) {
+            return true;
+        }
+        synchronized (tree.get()) {
+            return check.test(tree.get());
+        }
+    }
+
+    private Optional<AvailabilityIntervalTree> load(Long accommodationId) {
+        return accommodationRepository.findById(accommodationId).map(accommodation -> {
+            AvailabilityIntervalTree tree =
+                    new AvailabilityIntervalTree(accommodation.getAvailability());
+            for (AccommodationInventory night : inventoryRepository
+                    .findAllByAccommodationIdAndStayDateGreaterThanEqual(
+                            accommodationId, LocalDate.now())) {
+                tree.add(night.getStayDate(), night.getStayDate(), night.getBookedUnits());
+            }
+            return tree;
+        });
+    }
+
+    private void afterCommit(
+            Long accommodationId,
+            LocalDate checkInDate,
+            LocalDate checkOutDate,
+            int units
+    ) {
+        afterCommit(() -> trees.asMap().computeIfPresent(accommodationId, (id, tree) -> {
+            tree.ifPresent(present -> present.add(
+                    checkInDate, lastNight(checkInDate, checkOutDate), units));
+            return tree;
+        }));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            update.run();
+                        }
+                    });
+        } else {
+            update.run();
+        }
+    }
+}
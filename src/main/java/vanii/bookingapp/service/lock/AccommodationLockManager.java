@@ -0,0 +1,5 @@
+package vanii.bookingapp.service.lock;
+
+public interface AccommodationLockManager {
+    void lock(Long... accommodationIds);
+}
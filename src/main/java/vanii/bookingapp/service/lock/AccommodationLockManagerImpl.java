@@ -0,0 +1,71 @@
+package vanii.bookingapp.service.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class AccommodationLockManagerImpl implements AccommodationLockManager {
+    private final boolean enabled;
+    private final ReentrantLock[] locks;
+    private final Timer[] waitTimers;
+
+    public AccommodationLockManagerImpl(
+            @Value("${booking.lock.striped.enabled:false}") boolean enabled,
+            @Value("${booking.lock.stripes:64}") int stripes,
+            MeterRegistry meterRegistry
+    ) {
+        this.enabled = enabled;
+        this.locks = new ReentrantLock[stripes];
+        this.waitTimers = new Timer[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+            waitTimers[i] = Timer.builder("booking.lock.wait")
+                    .description("Time spent waiting for an Accommodation lock stripe")
+                    .tag("stripe", String.valueOf(i))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void lock(Long... accommodationIds) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException(
+                    "Accommodation locks can be taken only inside a transaction");
+        }
+        // stripes are taken in ascending order and held until the transaction completes
+        int[] stripes = Arrays.stream(accommodationIds)
+                .filter(Objects::nonNull)
+                .mapToInt(this::getStripe)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int stripe : stripes) {
+            long startedAt = System.nanoTime();
+            locks[stripe].lock();
+            waitTimers[stripe].record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            locks[stripe].unlock();
+                        }
+                    });
+        }
+    }
+
+    private int getStripe(Long accommodationId) {
+        return Math.floorMod(Long.hashCode(accommodationId), locks.length);
+    }
+}
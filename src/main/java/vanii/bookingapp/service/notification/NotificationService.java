@@ -1,6 +1,5 @@
 package vanii.bookingapp.service.notification;
 
-import java.util.List;
 import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.model.Booking;
 import vanii.bookingapp.model.Payment;
@@ -10,17 +9,19 @@ public interface NotificationService {
 
     void notifyBookingCancellation(Booking booking);
 
-    void notifyExpiredBookings(List<Booking> list);
+    void notifyExpiredBookings(int expiredBookings);
 
     void notifyNoExpiredBookingsToday();
 
     void notifyNewAccommodation(Accommodation accommodation);
 
+    void notifyAccommodationsImported(int imported, int failed);
+
     void notifyAccommodationRelease(Accommodation accommodation);
 
     void notifySuccessfulPayment(Payment payment);
 
     void notifyCanceledPayment(Payment payment);
 
-    void notifyExpiredPayment(Payment payment);
+    void notifyExpiredPayments(int expiredPayments);
 }
@@ -1,78 +1,95 @@
 package vanii.bookingapp.service.notification;
 
-import java.util.List;
+import java.time.Instant;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import vanii.bookingapp.client.MyTelegramBot;
 import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.model.Booking;
+import vanii.bookingapp.model.OutboxEvent;
 import vanii.bookingapp.model.Payment;
+import vanii.bookingapp.repository.outbox.OutboxEventRepository;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
-    private final MyTelegramBot myTelegramBot;
-    @Value("${admin.chat.id}")
-    private String chatId;
+    private final OutboxEventRepository outboxEventRepository;
+    @Value("${notification.coalesce.window-ms:500}")
+    private long coalesceWindowMillis;
 
     @Override
     public void notifyNewBooking(Booking booking) {
         String message = "New Booking was created.\n Booking: "
                 + booking.toString();
-        myTelegramBot.sendNotification(chatId, message);
+        record(OutboxEvent.Type.BOOKING_CREATED, message);
     }
 
     @Override
     public void notifyBookingCancellation(Booking booking) {
         String message = "Booking was canceled.\n Booking: "
                 + booking.toString();
-        myTelegramBot.sendNotification(chatId, message);
+        record(OutboxEvent.Type.BOOKING_CANCELED, message);
     }
 
     @Override
-    public void notifyExpiredBookings(List<Booking> list) {
-        String message = "Bookings were expired today.\n Bookings: "
-                + list.toString();
-        myTelegramBot.sendNotification(chatId, message);
+    public void notifyExpiredBookings(int expiredBookings) {
+        String message = "Bookings were expired today: " + expiredBookings;
+        record(OutboxEvent.Type.BOOKINGS_EXPIRED, message);
     }
 
     @Override
     public void notifyNoExpiredBookingsToday() {
         String message = "No expired bookings today!";
-        myTelegramBot.sendNotification(chatId, message);
+        record(OutboxEvent.Type.BOOKINGS_EXPIRED, message);
     }
 
     @Override
     public void notifyNewAccommodation(Accommodation accommodation) {
         String message = "New Accommodation was created.\n Accommodation: "
                 + accommodation.toString();
-        myTelegramBot.sendNotification(chatId, message);
+        record(OutboxEvent.Type.ACCOMMODATION_CREATED, message);
+    }
+
+    @Override
+    public void notifyAccommodationsImported(int imported, int failed) {
+        String message = "Accommodations were imported: " + imported
+                + ". Rejected rows: " + failed;
+        record(OutboxEvent.Type.ACCOMMODATIONS_IMPORTED, message);
     }
 
     @Override
     public void notifyAccommodationRelease(Accommodation accommodation) {
         String message = "Accommodation was released.\n Accommodation: "
                 + accommodation.toString();
-        myTelegramBot.sendNotification(chatId, message);
+        record(OutboxEvent.Type.ACCOMMODATION_RELEASED, message);
     }
 
     @Override
     public void notifySuccessfulPayment(Payment payment) {
         String message = "Payment was successful.\n Payment: "
                 + payment.toString();
-        myTelegramBot.sendNotification(chatId, message);
+        record(OutboxEvent.Type.PAYMENT_SUCCEEDED, message);
     }
 
     @Override
     public void notifyCanceledPayment(Payment payment) {
         String message = "Payment was canceled.\n Payment: " + payment.toString();
-        myTelegramBot.sendNotification(chatId, message);
+        record(OutboxEvent.Type.PAYMENT_CANCELED, message);
     }
 
     @Override
-    public void notifyExpiredPayment(Payment payment) {
-        String message = "Payment was expired.\n Payment: " + payment.toString();
-        myTelegramBot.sendNotification(chatId, message);
+    public void notifyExpiredPayments(int expiredPayments) {
+        String message = "Payments were expired: " + expiredPayments;
+        record(OutboxEvent.Type.PAYMENTS_EXPIRED, message);
+    }
+
+    // stored in the caller's transaction, so the event is sent only if that transaction commits.
+    // The event becomes due after the coalescing window, so events recorded close together
+    // are relayed in one batch and sent as one Telegram message
+    private void record(OutboxEvent.Type type, String message) {
+        outboxEventRepository.save(new OutboxEvent()
+                .setType(type)
+                .setPayload(message)
+                .setNextAttemptAt(Instant.now().plusMillis(coalesceWindowMillis)));
     }
 }
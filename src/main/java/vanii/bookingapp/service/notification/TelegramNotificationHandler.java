@@ -0,0 +1,103 @@
+package vanii.bookingapp.service.notification;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import vanii.bookingapp.client.MyTelegramBot;
+import vanii.bookingapp.model.OutboxEvent;
+import vanii.bookingapp.service.outbox.OutboxEventHandler;
+
+@Component
+public class TelegramNotificationHandler implements OutboxEventHandler {
+    private static final int MAX_MESSAGE_LENGTH = 4096;
+    private static final String SEPARATOR = "\n\n";
+
+    private final MyTelegramBot myTelegramBot;
+    private final String chatId;
+    private final Timer sendLatency;
+
+    public TelegramNotificationHandler(
+            MyTelegramBot myTelegramBot,
+            @Value("${admin.chat.id}") String chatId,
+            MeterRegistry meterRegistry
+    ) {
+        this.myTelegramBot = myTelegramBot;
+        this.chatId = chatId;
+        this.sendLatency = Timer.builder("notifications.send")
+                .description("Time spent sending a notification to Telegram")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean supports(OutboxEvent.Type type) {
+        return true;
+    }
+
+    // a batch of events goes out as as few messages as the Telegram length limit allows.
+    // Sending stops at the first failure, only the events of unsent messages are retried
+    @Override
+    public List<OutboxEvent> handle(List<OutboxEvent> events) {
+        StringBuilder text = new StringBuilder();
+        int firstUnsent = 0;
+        for (int i = 0; i < events.size(); i++) {
+            String message = events.get(i).getPayload();
+            if (!text.isEmpty() && text.length() + SEPARATOR.length() + message.length()
+                    > MAX_MESSAGE_LENGTH) {
+                if (!send(text.toString())) {
+                    return events.subList(firstUnsent, events.size());
+                }
+                text.setLength(0);
+                firstUnsent = i;
+            }
+            if (message.length() > MAX_MESSAGE_LENGTH) {
+                for (String part : split(message)) {
+                    if (!send(part)) {
+                        return events.subList(i, events.size());
+                    }
+                }
+                firstUnsent = i + 1;
+                continue;
+            }
+            if (!text.isEmpty()) {
+                text.append(SEPARATOR);
+            }
+            text.append(message);
+        }
+        if (!text.isEmpty() && !send(text.toString())) {
+            return events.subList(firstUnsent, events.size());
+        }
+        return List.of();
+    }
+
+    private List<String> split(String message) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        while (start < message.length()) {
+            int end = Math.min(start + MAX_MESSAGE_LENGTH, message.length());
+            if (end < message.length() && Character.isHighSurrogate(message.charAt(end - 1))) {
+                end--;
+            }
+            parts.add(message.substring(start, end));
+            start = end;
+        }
+        return parts;
+    }
+
+    private boolean send(String text) {
+        long startedAt = System.nanoTime();
+        try {
+            myTelegramBot.sendMessage(chatId, text);
+            return true;
+        } catch (TelegramApiException e) {
+            return false;
+        } finally {
+            sendLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package vanii.bookingapp.service.outbox;
+
+import java.util.List;
+import vanii.bookingapp.model.OutboxEvent;
+
+public interface OutboxEventHandler {
+    boolean supports(OutboxEvent.Type type);
+
+    // returns the events that were not delivered and are left for a retry
+    List<OutboxEvent> handle(List<OutboxEvent> events);
+}
@@ -0,0 +1,110 @@
+package vanii.bookingapp.service.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.model.OutboxEvent;
+import vanii.bookingapp.repository.outbox.OutboxBacklogView;
+import vanii.bookingapp.repository.outbox.OutboxEventRepository;
+
+@Component
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter dispatched;
+    private final Counter failed;
+    private final AtomicReference<OutboxBacklogView> backlog = new AtomicReference<>();
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+    @Value("${outbox.max-attempts:20}")
+    private int maxAttempts;
+    @Value("${outbox.retry.initial-delay-ms:1000}")
+    private long retryInitialDelayMillis;
+    @Value("${outbox.retry.max-delay-ms:3600000}")
+    private long retryMaxDelayMillis;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            List<OutboxEventHandler> handlers,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = transactionTemplate;
+        this.dispatched = Counter.builder("outbox.events.dispatched")
+                .description("Outbox events every handler accepted")
+                .register(meterRegistry);
+        this.failed = Counter.builder("outbox.events.failed")
+                .description("Outbox events left for a retry because a handler failed")
+                .register(meterRegistry);
+        Gauge.builder("outbox.events.pending", backlog,
+                        ref -> ref.get() == null ? 0 : ref.get().getPending())
+                .description("Outbox events waiting to be dispatched")
+                .register(meterRegistry);
+        Gauge.builder("outbox.events.parked", backlog,
+                        ref -> ref.get() == null ? 0 : ref.get().getParked())
+                .description("Outbox events that ran out of attempts")
+                .register(meterRegistry);
+        Gauge.builder("outbox.events.oldest.age", backlog,
+                        ref -> ref.get() == null ? 0 : ref.get().getOldestAgeSeconds())
+                .description("Age in seconds of the oldest outbox event waiting to be dispatched")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll.delay-ms:1000}")
+    public void relay() {
+        Boolean hasMore;
+        do {
+            hasMore = transactionTemplate.execute(status -> relayBatch());
+        } while (Boolean.TRUE.equals(hasMore));
+        // gauges read the snapshot of the last run, so a scrape never queries the database
+        backlog.set(outboxEventRepository.getBacklog(maxAttempts));
+    }
+
+    // the row locks are held until the handlers return, so other nodes skip this batch
+    // instead of sending it twice. Any failure ends the run, the failed events wait for
+    // their backoff instead of burning their attempts in a tight loop
+    private boolean relayBatch() {
+        List<OutboxEvent> events = outboxEventRepository.lockNextBatch(maxAttempts, batchSize);
+        Set<Long> failedIds = new HashSet<>();
+        for (OutboxEventHandler handler : handlers) {
+            List<OutboxEvent> supported = events.stream()
+                    .filter(event -> handler.supports(event.getType()))
+                    .toList();
+            if (supported.isEmpty()) {
+                continue;
+            }
+            try {
+                handler.handle(supported).forEach(event -> failedIds.add(event.getId()));
+            } catch (RuntimeException e) {
+                supported.forEach(event -> failedIds.add(event.getId()));
+            }
+        }
+        List<Long> dispatchedIds = events.stream()
+                .map(OutboxEvent::getId)
+                .filter(id -> !failedIds.contains(id))
+                .toList();
+        if (!dispatchedIds.isEmpty()) {
+            outboxEventRepository.deleteByIds(dispatchedIds);
+            dispatched.increment(dispatchedIds.size());
+        }
+        if (!failedIds.isEmpty()) {
+            outboxEventRepository.scheduleRetry(List.copyOf(failedIds),
+                    retryInitialDelayMillis, retryMaxDelayMillis);
+            failed.increment(failedIds.size());
+        }
+        return events.size() == batchSize && failedIds.isEmpty();
+    }
+}
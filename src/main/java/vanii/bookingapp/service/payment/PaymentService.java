@@ -3,6 +3,8 @@ package vanii.bookingapp.service.payment;
 import com.stripe.exception.StripeException;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
 import vanii.bookingapp.dto.payment.PaymentRequestDto;
 import vanii.bookingapp.dto.payment.PaymentResponseDto;
 
@@ -15,6 +17,13 @@ public interface PaymentService {
 
     List<PaymentResponseDto> getPaymentsForCertainUser(Long userId);
 
+    CursorPageDto<PaymentResponseDto> getPaymentsForCurrentUser(CursorRequestDto cursorRequest);
+
+    CursorPageDto<PaymentResponseDto> getPaymentsForCertainUser(
+            Long userId,
+            CursorRequestDto cursorRequest
+    );
+
     ResponseEntity<PaymentResponseDto> successPayment(String sessionId);
 
     ResponseEntity<String> cancelPayment(String sessionId);
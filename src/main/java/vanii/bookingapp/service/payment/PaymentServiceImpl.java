@@ -2,12 +2,16 @@ package vanii.bookingapp.service.payment;
 
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.hibernate.SessionException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,18 +19,26 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import vanii.bookingapp.client.StripeClient;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
 import vanii.bookingapp.dto.payment.PaymentRequestDto;
 import vanii.bookingapp.dto.payment.PaymentResponseDto;
 import vanii.bookingapp.mapper.PaymentMapper;
-import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.model.Booking;
 import vanii.bookingapp.model.Payment;
 import vanii.bookingapp.model.User;
 import vanii.bookingapp.repository.payment.PaymentRepository;
+import vanii.bookingapp.repository.payment.PaymentView;
+import vanii.bookingapp.scheduling.SchedulerLeaseManager;
+import vanii.bookingapp.scheduling.SchedulerLock;
 import vanii.bookingapp.service.booking.BookingService;
+import vanii.bookingapp.service.cursor.KeysetCursor;
+import vanii.bookingapp.service.hold.BookingHoldService;
+import vanii.bookingapp.service.inventory.InventoryService;
 import vanii.bookingapp.service.notification.NotificationService;
 import vanii.bookingapp.service.user.UserService;
 
+@Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -36,17 +48,24 @@ public class PaymentServiceImpl implements PaymentService {
     private final UserService userService;
     private final PaymentRepository paymentRepository;
     private final BookingService bookingService;
+    private final InventoryService inventoryService;
+    private final BookingHoldService holdService;
+    private final SchedulerLeaseManager leaseManager;
     private final PaymentMapper mapper;
+    private final MeterRegistry meterRegistry;
 
     @Override
     public ResponseEntity<PaymentResponseDto> createPayment(PaymentRequestDto request)
             throws StripeException {
-        BigDecimal amount = calculateAmountForBooking(request.bookingId());
-        Session session = stripeClient.createPaymentSession(amount);
+        Booking booking = bookingService.getBookingOrThrowException(request.bookingId());
+        BigDecimal amount = calculateAmountForBooking(booking);
+        Instant expiresAt = holdService.newPaymentExpiration();
+        holdForPayment(booking, expiresAt);
+        Session session = stripeClient.createPaymentSession(amount, expiresAt);
         Payment payment = new Payment();
-        Booking booking = new Booking().setId(request.bookingId());
         payment.setSessionId(session.getId())
                 .setSessionUrl(session.getUrl())
+                .setExpiresAt(Instant.ofEpochSecond(session.getExpiresAt()))
                 .setBooking(booking)
                 .setUser(new User().setId(userService.getCurrentUser().getId()))
                 .setAmount(amount);
@@ -59,8 +78,9 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = getPaymentByIdOrThrowException(sessionId);
         payment.setStatus(Payment.Status.PAID);
         Booking booking = payment.getBooking();
-        adjustAccommodationAvailabilityIfCanceled(booking);
+        reserveAccommodationIfCanceled(booking);
         booking.setStatus(Booking.Status.CONFIRMED);
+        booking.setHoldExpiresAt(null);
         payment.setBooking(booking);
         paymentRepository.save(payment);
         notificationService.notifySuccessfulPayment(payment);
@@ -72,7 +92,7 @@ public class PaymentServiceImpl implements PaymentService {
         Payment payment = getPaymentByIdOrThrowException(sessionId);
         payment.setStatus(Payment.Status.CANCELED);
         Booking booking = payment.getBooking();
-        adjustAccommodationAvailabilityIfNotCanceled(booking);
+        releaseAccommodationIfNotCanceled(booking);
         booking.setStatus(Booking.Status.CANCELED);
         payment.setBooking(booking);
         paymentRepository.save(payment);
@@ -83,15 +103,34 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponseDto> getPaymentsForCurrentUser() {
         return getAllPaymentsByUserId(userService.getCurrentUser().getId());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponseDto> getPaymentsForCertainUser(Long userId) {
         return getAllPaymentsByUserId(userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<PaymentResponseDto> getPaymentsForCurrentUser(
+            CursorRequestDto cursorRequest
+    ) {
+        return scrollPaymentsByUserId(userService.getCurrentUser().getId(), cursorRequest);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<PaymentResponseDto> getPaymentsForCertainUser(
+            Long userId,
+            CursorRequestDto cursorRequest
+    ) {
+        return scrollPaymentsByUserId(userId, cursorRequest);
+    }
+
     @Override
     public ResponseEntity<PaymentResponseDto> renewPaymentSession(String sessionId)
             throws StripeException {
@@ -101,43 +140,70 @@ public class PaymentServiceImpl implements PaymentService {
                     + payment.getStatus());
         }
         BigDecimal amount = payment.getAmount();
-        Session session = stripeClient.createPaymentSession(amount);
+        Instant expiresAt = holdService.newPaymentExpiration();
+        holdForPayment(payment.getBooking(), expiresAt);
+        Session session = stripeClient.createPaymentSession(amount, expiresAt);
         payment.setSessionId(session.getId())
                 .setSessionUrl(session.getUrl())
+                .setExpiresAt(Instant.ofEpochSecond(session.getExpiresAt()))
                 .setStatus(Payment.Status.PENDING);
         Payment savedPayment = paymentRepository.save(payment);
         return ResponseEntity.ok(mapper.toDto(savedPayment));
     }
 
     @Scheduled(fixedRate = 60000)
+    @SchedulerLock("check-expired-sessions")
     public void checkExpiredSessions() {
-        List<Payment> activePayments = paymentRepository.findAllByStatus(Payment.Status.PENDING);
-        for (Payment payment : activePayments) {
+        reconcileUntrackedSessions();
+        leaseManager.assertHeld();
+        int expiredPayments = paymentRepository.expirePendingPayments(Instant.now());
+        if (expiredPayments > 0) {
+            notificationService.notifyExpiredPayments(expiredPayments);
+        }
+    }
+
+    private void reconcileUntrackedSessions() {
+        List<Payment> untrackedPayments =
+                paymentRepository.findAllByStatusAndExpiresAtIsNull(Payment.Status.PENDING);
+        for (Payment payment : untrackedPayments) {
+            leaseManager.assertHeld();
             try {
-                Session session = Session.retrieve(payment.getSessionId());
-                if (session.getExpiresAt() < Instant.now().getEpochSecond()) {
-                    payment.setStatus(Payment.Status.EXPIRED);
-                    paymentRepository.save(payment);
-                    notificationService.notifyExpiredPayment(payment);
-                }
+                Session session = stripeClient.retrieveSession(payment.getSessionId());
+                payment.setExpiresAt(Instant.ofEpochSecond(session.getExpiresAt()));
+                paymentRepository.save(payment);
             } catch (StripeException e) {
-                System.out.println("Couldn't retrieve session from sessionId. SessionId: "
-                        + payment.getSessionId());
+                log.warn("Couldn't retrieve Stripe session {} of Payment {}",
+                        payment.getSessionId(), payment.getId(), e);
+                Counter.builder("payments.reconciliation.failures")
+                        .description("Untracked Stripe sessions that couldn't be retrieved")
+                        .register(meterRegistry)
+                        .increment();
             }
         }
     }
 
-    private void adjustAccommodationAvailabilityIfCanceled(Booking booking) {
+    private void reserveAccommodationIfCanceled(Booking booking) {
+        if (statusExpiredOrCanceled(booking.getStatus())) {
+            inventoryService.reserve(booking.getAccommodation().getId(),
+                    booking.getCheckInDate(), booking.getCheckOutDate());
+        }
+    }
+
+    // a Booking that lost its nights is reserved again before the customer can pay for it
+    private void holdForPayment(Booking booking, Instant paymentExpiresAt) {
         if (statusExpiredOrCanceled(booking.getStatus())) {
-            Accommodation accommodation = booking.getAccommodation();
-            accommodation.adjustAvailability(-1);
+            reserveAccommodationIfCanceled(booking);
+            booking.setStatus(Booking.Status.PENDING);
+        }
+        if (booking.getStatus() == Booking.Status.PENDING) {
+            holdService.holdUntilPaymentExpires(booking, paymentExpiresAt);
         }
     }
 
-    private void adjustAccommodationAvailabilityIfNotCanceled(Booking booking) {
+    private void releaseAccommodationIfNotCanceled(Booking booking) {
         if (!statusExpiredOrCanceled(booking.getStatus())) {
-            Accommodation accommodation = booking.getAccommodation();
-            accommodation.adjustAvailability(1);
+            inventoryService.release(booking.getAccommodation().getId(),
+                    booking.getCheckInDate(), booking.getCheckOutDate());
             notificationService.notifyAccommodationRelease(booking.getAccommodation());
         }
     }
@@ -146,8 +212,7 @@ public class PaymentServiceImpl implements PaymentService {
         return status == Booking.Status.EXPIRED || status == Booking.Status.CANCELED;
     }
 
-    private BigDecimal calculateAmountForBooking(Long bookingId) {
-        Booking booking = bookingService.getBookingOrThrowException(bookingId);
+    private BigDecimal calculateAmountForBooking(Booking booking) {
         long days = ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate());
         return booking.getAccommodation().getDailyRate().multiply(BigDecimal.valueOf(days));
     }
@@ -157,6 +222,18 @@ public class PaymentServiceImpl implements PaymentService {
                 new EntityNotFoundException("Can't find Payment with sessionId: " + sessionId));
     }
 
+    private CursorPageDto<PaymentResponseDto> scrollPaymentsByUserId(
+            Long userId,
+            CursorRequestDto cursorRequest
+    ) {
+        int limit = KeysetCursor.limit(cursorRequest);
+        List<PaymentView> payments = paymentRepository.getAllByUserIdAfter(
+                userId, KeysetCursor.afterId(cursorRequest), limit + 1);
+        return KeysetCursor.toPage(payments, limit,
+                payment -> Map.of("id", payment.getId()),
+                page -> page.stream().map(mapper::toDto).toList());
+    }
+
     private List<PaymentResponseDto> getAllPaymentsByUserId(Long userId) {
         return paymentRepository.getAllByUserId(userId)
                 .stream()
@@ -2,6 +2,7 @@ package vanii.bookingapp.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -10,11 +11,14 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static vanii.bookingapp.controller.AmenityControllerTest.addAmenities;
 import static vanii.bookingapp.controller.AmenityControllerTest.deleteAmenities;
+import static vanii.bookingapp.monitoring.SqlStatementAssertions.assertStatementCount;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import javax.sql.DataSource;
 import lombok.SneakyThrows;
@@ -35,7 +39,9 @@ import org.springframework.web.context.WebApplicationContext;
 import vanii.bookingapp.dto.accomodation.AccommodationRequestDto;
 import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
 import vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
 import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.monitoring.SqlStatementCounter;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class AccommodationControllerTest {
@@ -53,6 +59,8 @@ class AccommodationControllerTest {
     private WebApplicationContext applicationContext;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private SqlStatementCounter statementCounter;
 
     @Test
     @DisplayName("""
@@ -87,12 +95,12 @@ class AccommodationControllerTest {
             """)
     @WithMockUser(username = "user", authorities = "CUSTOMER")
     void getAccommodationById_ValidRequest_CorrectResponse() throws Exception {
-        MvcResult result = mockMvc.perform(
+        MvcResult result = assertStatementCount(statementCounter, 2, () -> mockMvc.perform(
                         get("/accommodations/10")
                                 .contentType(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
 
         AccommodationResponseDto actual = objectMapper.readValue(
                 result.getResponse().getContentAsString(), AccommodationResponseDto.class);
@@ -109,12 +117,12 @@ class AccommodationControllerTest {
     void getAllAccommodations_ValidRequest_CorrectResponse() throws Exception {
         AccommodationResponseDto[] expected =
                 new AccommodationResponseDto[] {firstResponse, secondResponse};
-        MvcResult result = mockMvc.perform(
+        MvcResult result = assertStatementCount(statementCounter, 2, () -> mockMvc.perform(
                         get("/accommodations")
                                 .contentType(MediaType.APPLICATION_JSON)
                 )
                 .andExpect(status().isOk())
-                .andReturn();
+                .andReturn());
         AccommodationResponseDto[] actual = objectMapper.readValue(
                 result.getResponse().getContentAsString(), AccommodationResponseDto[].class);
 
@@ -123,6 +131,26 @@ class AccommodationControllerTest {
         assertEquals(expected[1], actual[1]);
     }
 
+    @Test
+    @DisplayName("""
+            Verify getAllAccommodationsByCursor() method walks pages by daily rate
+            """)
+    @WithMockUser(username = "bob", authorities = "CUSTOMER")
+    void getAllAccommodationsByCursor_DailyRateOrder_CorrectPages() throws Exception {
+        CursorPageDto<AccommodationResponseDto> firstPage = assertStatementCount(
+                statementCounter, 2,
+                () -> getCursorPage("/accommodations/cursor?limit=1&order=daily_rate"));
+        CursorPageDto<AccommodationResponseDto> secondPage = assertStatementCount(
+                statementCounter, 2, () -> getCursorPage(
+                        "/accommodations/cursor?limit=1&order=daily_rate&after="
+                                + firstPage.nextCursor()));
+
+        assertEquals(List.of(secondResponse), firstPage.content());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals(List.of(firstResponse), secondPage.content());
+        assertNull(secondPage.nextCursor());
+    }
+
     @Test
     @DisplayName("""
             Verify getAllAccommodationsByAmenityId() method works 
@@ -215,6 +243,15 @@ class AccommodationControllerTest {
                 .andReturn();
     }
 
+    private CursorPageDto<AccommodationResponseDto> getCursorPage(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<CursorPageDto<AccommodationResponseDto>>() {
+                });
+    }
+
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders
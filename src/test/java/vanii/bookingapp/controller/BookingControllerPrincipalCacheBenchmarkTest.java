@@ -0,0 +1,75 @@
+package vanii.bookingapp.controller;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import vanii.bookingapp.security.JwtUtil;
+import vanii.bookingapp.security.PrincipalCache;
+
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "classpath:database/user/add-user.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/user/delete-user.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class BookingControllerPrincipalCacheBenchmarkTest {
+    private static final String USERNAME = "mail@ua";
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int MEASURED_REQUESTS = 1000;
+    private static MockMvc mockMvc;
+    @Autowired
+    private WebApplicationContext applicationContext;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+        principalCache.evictAll();
+    }
+
+    @Test
+    @DisplayName("""
+            Report requests per second on /bookings/my with the principal cache off and warm
+            """)
+    void getMyBookings_CacheOffAndWarm_ReportsThroughput() throws Exception {
+        String token = jwtUtil.generateToken(USERNAME);
+
+        runRequests(token, WARMUP_REQUESTS, false);
+        double cacheOff = runRequests(token, MEASURED_REQUESTS, false);
+        runRequests(token, WARMUP_REQUESTS, true);
+        double warmCache = runRequests(token, MEASURED_REQUESTS, true);
+
+        System.out.printf("/bookings/my: %.1f req/s with cache off, %.1f req/s with warm cache%n",
+                cacheOff, warmCache);
+    }
+
+    // evicting before every request makes each one load the User as if there were no cache
+    private double runRequests(String token, int requests, boolean cached) throws Exception {
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            if (!cached) {
+                principalCache.evictAll();
+            }
+            mockMvc.perform(get("/bookings/my").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+        }
+        return requests / ((System.nanoTime() - startedAt) / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,72 @@
+package vanii.bookingapp.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import vanii.bookingapp.monitoring.SqlStatementCounter;
+import vanii.bookingapp.monitoring.SqlStatementScope;
+import vanii.bookingapp.security.JwtUtil;
+import vanii.bookingapp.security.PrincipalCache;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Sql(scripts = "classpath:database/user/add-user.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/user/delete-user.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class BookingControllerPrincipalCacheTest {
+    private static final String USERNAME = "mail@ua";
+    private static MockMvc mockMvc;
+    @Autowired
+    private WebApplicationContext applicationContext;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private SqlStatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .build();
+        principalCache.evictAll();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify an authenticated request loads the User only until the principal is cached
+            """)
+    void getMyBookings_CachedPrincipal_SkipsUserLookup() throws Exception {
+        String token = jwtUtil.generateToken(USERNAME);
+
+        int uncachedStatements = countStatements(token);
+        int cachedStatements = countStatements(token);
+        principalCache.evictAll();
+        int evictedStatements = countStatements(token);
+
+        assertTrue(cachedStatements < uncachedStatements);
+        assertEquals(uncachedStatements, evictedStatements);
+    }
+
+    private int countStatements(String token) throws Exception {
+        try (SqlStatementScope scope = statementCounter.open()) {
+            mockMvc.perform(get("/bookings/my").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+            return scope.getStatementCount();
+        }
+    }
+}
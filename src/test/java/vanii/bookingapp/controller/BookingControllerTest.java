@@ -2,22 +2,33 @@ package vanii.bookingapp.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static vanii.bookingapp.controller.AccommodationControllerTest.addAccommodations;
 import static vanii.bookingapp.controller.AccommodationControllerTest.deleteAccommodations;
 import static vanii.bookingapp.controller.AuthenticationControllerTest.addUser;
 import static vanii.bookingapp.controller.AuthenticationControllerTest.deleteUser;
+import static vanii.bookingapp.monitoring.SqlStatementAssertions.assertStatementCount;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 import javax.sql.DataSource;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.AfterEach;
@@ -27,6 +38,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -40,8 +52,11 @@ import org.springframework.web.context.WebApplicationContext;
 import vanii.bookingapp.dto.booking.BookingRequestDto;
 import vanii.bookingapp.dto.booking.BookingResponseDto;
 import vanii.bookingapp.dto.booking.UpdateStatusDto;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.idempotency.IdempotencyFilter;
 import vanii.bookingapp.model.Booking;
 import vanii.bookingapp.model.User;
+import vanii.bookingapp.monitoring.SqlStatementCounter;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class BookingControllerTest {
@@ -58,6 +73,10 @@ class BookingControllerTest {
     private DataSource dataSource;
     @Autowired
     private WebApplicationContext applicationContext;
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+    @Autowired
+    private SqlStatementCounter statementCounter;
 
     @Test
     @DisplayName("""
@@ -88,6 +107,45 @@ class BookingControllerTest {
         assertEquals(ID_FOUR, actual.getUserId());
     }
 
+    @Test
+    @DisplayName("""
+            Verify createBooking() replays the first response for a repeated Idempotency-Key
+            """)
+    void createBooking_RepeatedIdempotencyKey_ReplaysFirstResponse() throws Exception {
+        MockMvc idempotentMockMvc = MockMvcBuilders
+                .webAppContextSetup(applicationContext)
+                .apply(springSecurity())
+                .addFilters(idempotencyFilter)
+                .build();
+        String jsonRequest = objectMapper.writeValueAsString(new BookingRequestDto(
+                LocalDate.of(2042, 1, 5),
+                LocalDate.of(2042, 1, 10),
+                ID_TEN));
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        String first = idempotentMockMvc.perform(post("/bookings")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.IDEMPOTENT_REPLAYED))
+                .andReturn().getResponse().getContentAsString();
+        String replayed = idempotentMockMvc.perform(post("/bookings")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                        .content(jsonRequest)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.IDEMPOTENT_REPLAYED, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, replayed);
+        idempotentMockMvc.perform(post("/bookings")
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY, idempotencyKey)
+                        .content(jsonRequest.replace("2042-01-10", "2042-01-11"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     @DisplayName("""
             Verify getBookingById() method works 
@@ -121,6 +179,23 @@ class BookingControllerTest {
         assertEquals(secondResponse, actual[1]);
     }
 
+    @Test
+    @DisplayName("""
+            Verify getBookingsOfCurrentUserByCursor() method walks pages by id
+            """)
+    void getBookingsOfCurrentUserByCursor_TwoPages_CorrectPages() throws Exception {
+        CursorPageDto<BookingResponseDto> firstPage = assertStatementCount(
+                statementCounter, 1, () -> getCursorPage("/bookings/my/cursor?limit=1"));
+        CursorPageDto<BookingResponseDto> secondPage = assertStatementCount(
+                statementCounter, 1, () -> getCursorPage(
+                        "/bookings/my/cursor?limit=1&after=" + firstPage.nextCursor()));
+
+        assertEquals(List.of(firstResponse), firstPage.content());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals(List.of(secondResponse), secondPage.content());
+        assertNull(secondPage.nextCursor());
+    }
+
     @Test
     @DisplayName("""
             Verify updateMyBooking() method works 
@@ -192,6 +267,65 @@ class BookingControllerTest {
                 .andReturn();
     }
 
+    @Test
+    @DisplayName("""
+            Verify exportBookings() streams bookings in the range as CSV
+            """)
+    void exportBookings_CsvRange_StreamsMatchingBookings() throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings/export")
+                        .param("from", "2032-01-01")
+                        .param("to", "2032-12-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=bookings.csv"))
+                .andExpect(content().string("""
+                        id,status,check_in_date,check_out_date,accommodation_id,user_id
+                        5,PENDING,2032-01-01,2045-05-05,4,4
+                        """));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify exportBookings() gzips NDJSON when requested
+            """)
+    void exportBookings_GzippedNdjson_StreamsCompressedRows() throws Exception {
+        MvcResult result = mockMvc.perform(get("/bookings/export")
+                        .param("from", "2032-01-01")
+                        .param("to", "2033-12-31")
+                        .param("format", "NDJSON")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            List<String> lines = new String(in.readAllBytes(), StandardCharsets.UTF_8)
+                    .lines().toList();
+            assertEquals(2, lines.size());
+            assertEquals("{\"id\":5,\"status\":\"PENDING\",\"check_in_date\":\"2032-01-01\","
+                    + "\"check_out_date\":\"2045-05-05\",\"accommodation_id\":4,"
+                    + "\"user_id\":4}", lines.get(0));
+        }
+    }
+
+    private CursorPageDto<BookingResponseDto> getCursorPage(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<CursorPageDto<BookingResponseDto>>() {
+                });
+    }
+
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders
@@ -3,6 +3,7 @@ package vanii.bookingapp.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -14,7 +15,9 @@ import static vanii.bookingapp.controller.AuthenticationControllerTest.addUser;
 import static vanii.bookingapp.controller.AuthenticationControllerTest.deleteUser;
 import static vanii.bookingapp.controller.BookingControllerTest.addBookings;
 import static vanii.bookingapp.controller.BookingControllerTest.deleteBookings;
+import static vanii.bookingapp.monitoring.SqlStatementAssertions.assertStatementCount;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.sql.Connection;
@@ -38,10 +41,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
 import vanii.bookingapp.dto.payment.PaymentRequestDto;
 import vanii.bookingapp.dto.payment.PaymentResponseDto;
 import vanii.bookingapp.model.Payment;
 import vanii.bookingapp.model.User;
+import vanii.bookingapp.monitoring.SqlStatementCounter;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class PaymentControllerTest {
@@ -59,6 +64,8 @@ class PaymentControllerTest {
     private DataSource dataSource;
     @Autowired
     private WebApplicationContext applicationContext;
+    @Autowired
+    private SqlStatementCounter statementCounter;
 
     @Test
     @DisplayName("""
@@ -176,6 +183,44 @@ class PaymentControllerTest {
         assertEquals(secondResponse, actual[1]);
     }
 
+    @Test
+    @DisplayName("""
+            Verify getPaymentsForCurrentUserByCursor() method walks pages by id
+            """)
+    void getPaymentsForCurrentUserByCursor_TwoPages_CorrectPages() throws Exception {
+        CursorPageDto<PaymentResponseDto> firstPage = assertStatementCount(
+                statementCounter, 1, () -> getCursorPage("/payments/my/cursor?limit=1"));
+        CursorPageDto<PaymentResponseDto> secondPage = assertStatementCount(
+                statementCounter, 1, () -> getCursorPage(
+                        "/payments/my/cursor?limit=1&after=" + firstPage.nextCursor()));
+
+        assertEquals(List.of(firstResponse), firstPage.content());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals(List.of(secondResponse), secondPage.content());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify getPaymentsForCertainUserByCursor() method returns one page
+            """)
+    void getPaymentsForCertainUserByCursor_SinglePage_CorrectResponse() throws Exception {
+        CursorPageDto<PaymentResponseDto> page = assertStatementCount(
+                statementCounter, 1, () -> getCursorPage("/payments/cursor?user_id=4"));
+
+        assertEquals(List.of(firstResponse, secondResponse), page.content());
+        assertNull(page.nextCursor());
+    }
+
+    private CursorPageDto<PaymentResponseDto> getCursorPage(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(),
+                new TypeReference<CursorPageDto<PaymentResponseDto>>() {
+                });
+    }
+
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders
@@ -0,0 +1,89 @@
+package vanii.bookingapp.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+    private static final String BODY = "{\"accommodation_id\":4}";
+    @Mock
+    private IdempotencyStore idempotencyStore;
+    private IdempotencyFilter idempotencyFilter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        idempotencyFilter = new IdempotencyFilter(idempotencyStore, List.of("/bookings"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("email", null,
+                        List.of(new SimpleGrantedAuthority("CUSTOMER"))));
+        when(idempotencyStore.execute(any(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(
+                        2, IdempotencyStore.Execution.class).run());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify the cached request body can be read through a ReadListener
+            """)
+    void doFilter_ReadListener_ReadsWholeBody() throws Exception {
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/bookings");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "key");
+        request.setContent(BODY.getBytes(StandardCharsets.UTF_8));
+
+        idempotencyFilter.doFilter(request, new MockHttpServletResponse(),
+                (filteredRequest, response) -> {
+                    ServletInputStream in = filteredRequest.getInputStream();
+                    in.setReadListener(new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            while (in.isReady() && !in.isFinished()) {
+                                read.write(in.read());
+                            }
+                        }
+
+                        @Override
+                        public void onAllDataRead() {
+                            read.write('!');
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            error.set(t);
+                        }
+                    });
+                });
+
+        assertEquals(BODY + "!", read.toString(StandardCharsets.UTF_8));
+        assertNull(error.get());
+    }
+}
@@ -0,0 +1,165 @@
+package vanii.bookingapp.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.exception.IdempotencyKeyException;
+import vanii.bookingapp.model.IdempotencyKey;
+import vanii.bookingapp.repository.idempotency.IdempotencyKeyRepository;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+    private static final IdempotencyKey.OwnedKey KEY =
+            new IdempotencyKey.OwnedKey("email", "key");
+    private static final String FINGERPRINT = "fingerprint";
+    private static final StoredResponse CREATED =
+            new StoredResponse(FINGERPRINT, 201, "application/json",
+                    Map.of("Location", List.of("/bookings/1")), "{\"id\":1}");
+    private final AtomicInteger executions = new AtomicInteger();
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(idempotencyKeyRepository,
+                new TransactionTemplate(transactionManager), 100, 24, 60_000, 5000, 10);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify execute() runs a request once and replays it for the same key
+            """)
+    void execute_RepeatedKey_ReplaysStoredResponse() throws Exception {
+        whenKeyIsClaimed();
+        StoredResponse first = idempotencyStore.execute(KEY, FINGERPRINT, this::countedExecution);
+        StoredResponse second = idempotencyStore.execute(KEY, FINGERPRINT, this::countedExecution);
+
+        assertSame(first, second);
+        assertEquals(1, executions.get());
+        verify(idempotencyKeyRepository).complete("email", "key", 201,
+                "application/json", "Location: /bookings/1", "{\"id\":1}");
+    }
+
+    @Test
+    @DisplayName("""
+            Verify execute() takes over a claim whose lease ran out without a response
+            """)
+    void execute_StaleClaim_TakesOverClaim() throws Exception {
+        when(idempotencyKeyRepository.tryClaim(any(), any(), any(), any(), any()))
+                .thenReturn(0, 1);
+        when(idempotencyKeyRepository.findById(KEY)).thenReturn(Optional.of(new IdempotencyKey()
+                .setOwner("email")
+                .setIdempotencyKey("key")
+                .setFingerprint(FINGERPRINT)
+                .setLockedUntil(Instant.now().minusSeconds(1))));
+
+        StoredResponse response =
+                idempotencyStore.execute(KEY, FINGERPRINT, this::countedExecution);
+
+        assertSame(CREATED, response);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify stored headers survive the round trip through the database column
+            """)
+    void decodeHeaders_EncodedHeaders_RestoresHeaders() {
+        StoredResponse response = new StoredResponse(FINGERPRINT, 201, null,
+                Map.of("Set-Cookie", List.of("a=1", "b=2")), null);
+
+        Map<String, List<String>> actual =
+                StoredResponse.decodeHeaders(response.encodedHeaders());
+
+        assertEquals(response.headers(), actual);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify execute() rejects a different request sent with a used key
+            """)
+    void execute_DifferentFingerprint_ThrowsException() throws Exception {
+        whenKeyIsClaimed();
+        idempotencyStore.execute(KEY, FINGERPRINT, this::countedExecution);
+
+        IdempotencyKeyException exception = assertThrows(IdempotencyKeyException.class,
+                () -> idempotencyStore.execute(KEY, "other", this::countedExecution));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify execute() makes a concurrent duplicate wait for the first execution
+            """)
+    void execute_ConcurrentDuplicate_WaitsForFirstExecution() throws Exception {
+        whenKeyIsClaimed();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<StoredResponse> first = CompletableFuture.supplyAsync(() ->
+                executeQuietly(() -> {
+                    started.countDown();
+                    release.await();
+                    return countedExecution();
+                }));
+        started.await(1, TimeUnit.SECONDS);
+        CompletableFuture<StoredResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                executeQuietly(this::countedExecution));
+
+        release.countDown();
+
+        assertSame(first.get(1, TimeUnit.SECONDS), duplicate.get(1, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    private void whenKeyIsClaimed() {
+        when(idempotencyKeyRepository.tryClaim(any(), any(), any(), any(), any())).thenReturn(1);
+    }
+
+    private StoredResponse countedExecution() {
+        executions.incrementAndGet();
+        return CREATED;
+    }
+
+    private StoredResponse executeQuietly(InterruptibleExecution execution) {
+        try {
+            return idempotencyStore.execute(KEY, FINGERPRINT, () -> {
+                try {
+                    return execution.run();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface InterruptibleExecution {
+        StoredResponse run() throws InterruptedException;
+    }
+}
@@ -0,0 +1,54 @@
+package vanii.bookingapp.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+class SqlBudgetInterceptorTest {
+    private static final String SELECT_BOOKING = "select * from bookings where id=?";
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private SqlStatementCounter statementCounter;
+    private SqlBudgetInterceptor interceptor;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        statementCounter = new SqlStatementCounter();
+        interceptor = new SqlBudgetInterceptor(statementCounter, meterRegistry, 20, 3);
+        handler = new HandlerMethod(this, getClass().getDeclaredMethod("setUp"));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify an async request is counted once and leaves no scope on the request thread
+            """)
+    void afterConcurrentHandlingStarted_AsyncRequest_ClosesScope() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/bookings/export");
+        interceptor.preHandle(request, response, handler);
+        statementCounter.inspect(SELECT_BOOKING);
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        statementCounter.inspect(SELECT_BOOKING);
+        interceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary statements =
+                meterRegistry.get("sql.statements.per.request").summary();
+        assertEquals(1, statements.count());
+        assertEquals(1, statements.totalAmount());
+        try (SqlStatementScope scope = statementCounter.open()) {
+            statementCounter.inspect(SELECT_BOOKING);
+            assertEquals(1, scope.getStatementCount());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package vanii.bookingapp.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class SqlStatementAssertions {
+    private SqlStatementAssertions() {
+    }
+
+    public static <T> T assertStatementCount(
+            SqlStatementCounter statementCounter,
+            int expected,
+            CountedAction<T> action
+    ) throws Exception {
+        try (SqlStatementScope scope = statementCounter.open()) {
+            T result = action.run();
+            assertEquals(expected, scope.getStatementCount(),
+                    () -> "Unexpected SQL statements: " + scope.getStatements());
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    public interface CountedAction<T> {
+        T run() throws Exception;
+    }
+}
@@ -0,0 +1,55 @@
+package vanii.bookingapp.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SqlStatementCounterTest {
+    private static final String SELECT_BOOKING = "select * from bookings where id=?";
+    private static final String SELECT_USER = "select * from users where id=?";
+    private SqlStatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        statementCounter = new SqlStatementCounter();
+    }
+
+    @Test
+    @DisplayName("Verify inspect() counts statements into every open scope")
+    void inspect_NestedScopes_CountsIntoEach() {
+        statementCounter.inspect(SELECT_USER);
+        try (SqlStatementScope outer = statementCounter.open()) {
+            statementCounter.inspect(SELECT_USER);
+            try (SqlStatementScope inner = statementCounter.open()) {
+                statementCounter.inspect(SELECT_BOOKING);
+                assertEquals(1, inner.getStatementCount());
+            }
+            statementCounter.inspect(SELECT_BOOKING);
+            assertEquals(3, outer.getStatementCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Verify getRepeatedStatements() reports statements run at least threshold times")
+    void getRepeatedStatements_RepeatedSelect_ReportsIt() {
+        try (SqlStatementScope scope = statementCounter.open()) {
+            statementCounter.inspect(SELECT_USER);
+            for (int i = 0; i < 3; i++) {
+                statementCounter.inspect(SELECT_BOOKING);
+            }
+
+            assertEquals(Map.of(SELECT_BOOKING, 3), scope.getRepeatedStatements(3));
+            assertTrue(scope.getRepeatedStatements(4).isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Verify inspect() returns the statement unchanged")
+    void inspect_AnyStatement_ReturnsItUnchanged() {
+        assertEquals(SELECT_USER, statementCounter.inspect(SELECT_USER));
+    }
+}
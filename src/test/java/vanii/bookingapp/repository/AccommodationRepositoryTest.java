@@ -2,6 +2,7 @@ package vanii.bookingapp.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,8 +11,11 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
+import vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto;
 import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.accommodation.AmenityIdsView;
+import vanii.bookingapp.repository.specification.AmenitySpecificationProvider;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -40,4 +44,55 @@ class AccommodationRepositoryTest {
         assertEquals("strawberry st. 03", actualPage.toList().get(0).getLocation());
         assertEquals("30m2", actualPage.toList().get(1).getSize());
     }
+
+    @Test
+    @DisplayName("""
+            Verify amenities Specification keeps Accommodations having all of the Amenities
+            """)
+    @Sql(scripts = {"classpath:database/amenity/add-two-amenities.sql",
+            "classpath:database/accommodation/add-two-accommodations.sql",
+            "classpath:database/acc_ame/add-amenity-and-accommodation-ids.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/acc_ame/delete-connections-accommodation-amenity.sql",
+            "classpath:database/accommodation/delete-accommodations.sql",
+            "classpath:database/amenity/delete-amenities.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void findAll_AmenitiesSpecification_CorrectResponse() {
+        AmenitySpecificationProvider provider = new AmenitySpecificationProvider();
+
+        List<Accommodation> withBoth = accommodationRepository.findAll(
+                provider.getSpecification(new String[] {"2", "20"}));
+        List<Accommodation> withOne = accommodationRepository.findAll(
+                provider.getSpecification(new String[] {"2"}));
+
+        assertEquals(1, withBoth.size());
+        assertEquals(4L, withBoth.get(0).getId());
+        assertEquals(2, withOne.size());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findRowById() and findAmenityIds() return only DTO columns
+            """)
+    @Sql(scripts = {"classpath:database/amenity/add-two-amenities.sql",
+            "classpath:database/accommodation/add-two-accommodations.sql",
+            "classpath:database/acc_ame/add-amenity-and-accommodation-ids.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/acc_ame/delete-connections-accommodation-amenity.sql",
+            "classpath:database/accommodation/delete-accommodations.sql",
+            "classpath:database/amenity/delete-amenities.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void findRowByIdAndFindAmenityIds_ValidRequest_CorrectResponse() {
+        AccommodationWithoutAmenityIdsDto row =
+                accommodationRepository.findRowById(4L).orElseThrow();
+        List<AmenityIdsView> amenityIds = accommodationRepository.findAmenityIds(List.of(4L, 10L));
+
+        assertEquals("strawberry st. 03", row.location());
+        assertEquals(2, amenityIds.size());
+        assertEquals(List.of(2L, 20L), amenityIds.stream()
+                .filter(view -> view.getAccommodationId() == 4L)
+                .findFirst()
+                .map(view -> List.of(view.getAmenityIds()))
+                .orElseThrow());
+    }
 }
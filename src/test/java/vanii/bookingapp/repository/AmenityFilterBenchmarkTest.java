@@ -0,0 +1,102 @@
+package vanii.bookingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.model.Amenity;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.specification.AmenitySpecificationProvider;
+
+@Tag("benchmark")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AmenityFilterBenchmarkTest {
+    private static final int ACCOMMODATIONS = 5000;
+    private static final int AMENITIES = 40;
+    private static final int RUNS = 20;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private String[] requestedAmenityIds;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO amenities (amenity) "
+                + "SELECT 'amenity ' || n FROM generate_series(1, ?) n", AMENITIES);
+        jdbcTemplate.update("INSERT INTO accommodations (type, location, size, daily_rate,"
+                + " availability) SELECT 'HOUSE', 'street ' || n, '40m2', 10 + n % 90, 1"
+                + " FROM generate_series(1, ?) n", ACCOMMODATIONS);
+        // every accommodation gets a pseudo random third of the amenities
+        jdbcTemplate.update("INSERT INTO accommodation_amenity (accommodation_id, amenity_id)"
+                + " SELECT a.id, m.id FROM accommodations a CROSS JOIN amenities m"
+                + " WHERE (a.id * 31 + m.id * 17) % 3 = 0");
+        jdbcTemplate.execute("ANALYZE accommodations");
+        jdbcTemplate.execute("ANALYZE accommodation_amenity");
+        requestedAmenityIds = jdbcTemplate.queryForList(
+                "SELECT id FROM amenities ORDER BY id LIMIT 3", Long.class)
+                .stream()
+                .map(String::valueOf)
+                .toArray(String[]::new);
+    }
+
+    @Test
+    @DisplayName("""
+            Report grouped EXISTS amenity filter against a join per amenity on thousands of rows
+            """)
+    void amenityFilter_ThousandsOfAccommodations_ReportsTimings() {
+        Specification<Accommodation> groupedExists =
+                new AmenitySpecificationProvider().getSpecification(requestedAmenityIds);
+
+        double joinPerAmenityMillis = measure(
+                () -> accommodationRepository.findAll(joinPerAmenity()));
+        double groupedExistsMillis = measure(
+                () -> accommodationRepository.findAll(groupedExists));
+
+        assertEquals(accommodationRepository.findAll(joinPerAmenity()).size(),
+                accommodationRepository.findAll(groupedExists).size());
+        System.out.printf("%d accommodations, %d amenities: join per amenity %.2f ms,"
+                        + " grouped EXISTS %.2f ms per search%n",
+                ACCOMMODATIONS, AMENITIES, joinPerAmenityMillis, groupedExistsMillis);
+    }
+
+    private Specification<Accommodation> joinPerAmenity() {
+        Specification<Accommodation> spec = Specification.where(null);
+        for (String amenityId : requestedAmenityIds) {
+            spec = spec.and((root, query, criteriaBuilder) -> {
+                query.distinct(true);
+                Join<Accommodation, Amenity> amenity = root.join("amenities");
+                return criteriaBuilder.equal(amenity.get("id"), Long.valueOf(amenityId));
+            });
+        }
+        return spec;
+    }
+
+    // clearing the persistence context keeps later runs from reusing loaded Accommodations
+    private double measure(Supplier<List<Accommodation>> search) {
+        search.get();
+        entityManager.clear();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            search.get();
+            entityManager.clear();
+        }
+        return (System.nanoTime() - startedAt) / 1_000_000.0 / RUNS;
+    }
+}
@@ -0,0 +1,83 @@
+package vanii.bookingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import jakarta.persistence.criteria.Join;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.model.Amenity;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.specification.AmenitySpecificationProvider;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AmenityFilterTest {
+    private static final int ACCOMMODATIONS = 60;
+    private static final int AMENITIES = 6;
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private String[] requestedAmenityIds;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO amenities (amenity) "
+                + "SELECT 'amenity ' || n FROM generate_series(1, ?) n", AMENITIES);
+        jdbcTemplate.update("INSERT INTO accommodations (type, location, size, daily_rate,"
+                + " availability) SELECT 'HOUSE', 'street ' || n, '40m2', 10 + n % 90, 1"
+                + " FROM generate_series(1, ?) n", ACCOMMODATIONS);
+        // every accommodation gets a pseudo random half of the amenities
+        jdbcTemplate.update("INSERT INTO accommodation_amenity (accommodation_id, amenity_id)"
+                + " SELECT a.id, m.id FROM accommodations a CROSS JOIN amenities m"
+                + " WHERE (a.id * 31 + m.id * 17) % 2 = 0 OR a.id % 5 = 0");
+        requestedAmenityIds = jdbcTemplate.queryForList(
+                "SELECT id FROM amenities ORDER BY id LIMIT 2", Long.class)
+                .stream()
+                .map(String::valueOf)
+                .toArray(String[]::new);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify the grouped EXISTS amenity filter matches a join per amenity
+            """)
+    void amenityFilter_SeveralAmenities_MatchesJoinPerAmenity() {
+        Specification<Accommodation> groupedExists =
+                new AmenitySpecificationProvider().getSpecification(requestedAmenityIds);
+
+        List<Long> expected = ids(accommodationRepository.findAll(joinPerAmenity()));
+        List<Long> actual = ids(accommodationRepository.findAll(groupedExists));
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+
+    private Specification<Accommodation> joinPerAmenity() {
+        Specification<Accommodation> spec = Specification.where(null);
+        for (String amenityId : requestedAmenityIds) {
+            spec = spec.and((root, query, criteriaBuilder) -> {
+                query.distinct(true);
+                Join<Accommodation, Amenity> amenity = root.join("amenities");
+                return criteriaBuilder.equal(amenity.get("id"), Long.valueOf(amenityId));
+            });
+        }
+        return spec;
+    }
+
+    private List<Long> ids(List<Accommodation> accommodations) {
+        return accommodations.stream()
+                .map(Accommodation::getId)
+                .sorted()
+                .toList();
+    }
+}
@@ -0,0 +1,135 @@
+package vanii.bookingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.model.Booking;
+import vanii.bookingapp.model.User;
+
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingBatchInsertBenchmarkTest {
+    private static final int BOOKINGS = 100_000;
+    private static final int BATCH_SIZE = 50;
+    private static final LocalDate CHECK_IN_DATE = LocalDate.of(2040, 1, 1);
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+    private Long accommodationId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        accommodationId = jdbcTemplate.queryForObject("INSERT INTO accommodations (type,"
+                + " location, size, daily_rate, availability)"
+                + " VALUES ('HOUSE', 'benchmark st. 1', '40m2', 10, 1) RETURNING id", Long.class);
+        userId = jdbcTemplate.queryForObject("INSERT INTO users (email, first_name, last_name,"
+                + " password) VALUES ('benchmark@mail', 'first', 'last', 'password')"
+                + " RETURNING id", Long.class);
+    }
+
+    @Test
+    @DisplayName("""
+            Report persisting 100k Bookings with IDENTITY ids against pooled sequence batches
+            """)
+    void persistBookings_HundredThousandRows_ReportsTimings() {
+        report("IDENTITY ids, row by row", () -> persistInBatches(this::identityBooking));
+        report("pooled sequence, JDBC batches", () -> persistInBatches(this::pooledBooking));
+
+        assertEquals(2L * BOOKINGS, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM bookings WHERE accommodation_id = ?",
+                Long.class, accommodationId));
+    }
+
+    private Object identityBooking() {
+        return new IdentityBooking()
+                .setStatus(Booking.Status.EXPIRED)
+                .setCheckInDate(CHECK_IN_DATE)
+                .setCheckOutDate(CHECK_IN_DATE.plusDays(1))
+                .setAccommodationId(accommodationId)
+                .setUserId(userId);
+    }
+
+    private Object pooledBooking() {
+        return new Booking()
+                .setStatus(Booking.Status.EXPIRED)
+                .setCheckInDate(CHECK_IN_DATE)
+                .setCheckOutDate(CHECK_IN_DATE.plusDays(1))
+                .setAccommodation(entityManager.getReference(Accommodation.class, accommodationId))
+                .setUser(entityManager.getReference(User.class, userId));
+    }
+
+    private void persistInBatches(Supplier<Object> bookings) {
+        for (int i = 1; i <= BOOKINGS; i++) {
+            entityManager.persist(bookings.get());
+            if (i % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void report(String strategy, Runnable insert) {
+        statistics.clear();
+        long startedAt = System.nanoTime();
+        insert.run();
+        double millis = (System.nanoTime() - startedAt) / 1_000_000.0;
+        System.out.printf("%s: %.0f ms, %d prepared statements for %d bookings%n",
+                strategy, millis, statistics.getPrepareStatementCount(), BOOKINGS);
+    }
+
+    // the Booking mapping before pooled sequences: Hibernate inserts each row on persist
+    // to read its id back, so JDBC batching never kicks in
+    @Data
+    @Entity
+    @NoArgsConstructor
+    @Accessors(chain = true)
+    @Table(name = "bookings")
+    static class IdentityBooking {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        @Enumerated(EnumType.STRING)
+        private Booking.Status status;
+        @Column(name = "check_in_date")
+        private LocalDate checkInDate;
+        @Column(name = "check_out_date")
+        private LocalDate checkOutDate;
+        @Column(name = "accommodation_id")
+        private Long accommodationId;
+        @Column(name = "user_id")
+        private Long userId;
+    }
+}
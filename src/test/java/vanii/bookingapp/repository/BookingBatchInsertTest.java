@@ -0,0 +1,82 @@
+package vanii.bookingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.time.LocalDate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.model.Booking;
+import vanii.bookingapp.model.User;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class BookingBatchInsertTest {
+    private static final int BOOKINGS = 120;
+    private static final int BATCH_SIZE = 50;
+    private static final LocalDate CHECK_IN_DATE = LocalDate.of(2040, 1, 1);
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private Long accommodationId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        accommodationId = jdbcTemplate.queryForObject("INSERT INTO accommodations (type,"
+                + " location, size, daily_rate, availability)"
+                + " VALUES ('HOUSE', 'batch st. 1', '40m2', 10, 1) RETURNING id", Long.class);
+        userId = jdbcTemplate.queryForObject("INSERT INTO users (email, first_name, last_name,"
+                + " password) VALUES ('batch@mail', 'first', 'last', 'password')"
+                + " RETURNING id", Long.class);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify persisting Bookings takes one statement per batch and per pooled id block
+            """)
+    void persistBookings_PooledSequence_InsertsInBatches() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        persistInBatches();
+
+        int batches = (BOOKINGS + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertEquals(BOOKINGS, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2L * batches,
+                () -> "Prepared statements: " + statistics.getPrepareStatementCount());
+        assertEquals(BOOKINGS, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM bookings WHERE accommodation_id = ?",
+                Integer.class, accommodationId));
+    }
+
+    private void persistInBatches() {
+        for (int i = 1; i <= BOOKINGS; i++) {
+            entityManager.persist(new Booking()
+                    .setStatus(Booking.Status.EXPIRED)
+                    .setCheckInDate(CHECK_IN_DATE)
+                    .setCheckOutDate(CHECK_IN_DATE.plusDays(1))
+                    .setAccommodation(entityManager.getReference(
+                            Accommodation.class, accommodationId))
+                    .setUser(entityManager.getReference(User.class, userId)));
+            if (i % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
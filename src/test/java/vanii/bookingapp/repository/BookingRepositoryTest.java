@@ -1,18 +1,23 @@
 package vanii.bookingapp.repository;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
 import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.jdbc.Sql;
+import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.model.Booking;
 import vanii.bookingapp.model.User;
 import vanii.bookingapp.repository.booking.BookingRepository;
+import vanii.bookingapp.repository.booking.BookingView;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -28,6 +33,7 @@ class BookingRepositoryTest {
     private static final Long ID_FOUR = 4L;
     private static final Long ID_FIVE = 5L;
     private static final Long ID_FIFTEEN = 15L;
+    private static final LocalDate AFTER_ALL_CHECK_OUTS = LocalDate.of(2046, 1, 1);
     @Autowired
     private BookingRepository repository;
 
@@ -36,7 +42,7 @@ class BookingRepositoryTest {
             Verify getBookingsByUserId() method works   
             """)
     void getBookingsByUserId_ValidRequest_CorrectResponse() {
-        List<Booking> actual = repository.getBookingsByUserId(ID_FOUR);
+        List<BookingView> actual = repository.getBookingsByUserId(ID_FOUR);
 
         assertEquals(2, actual.size());
         assertEquals(ID_FIVE, actual.get(0).getId());
@@ -60,14 +66,24 @@ class BookingRepositoryTest {
 
     @Test
     @DisplayName("""
-            Verify getBookingsByPendingAndConfirmedStatuses() method works
+            Verify lockExpiredBookingIds() method works
             """)
-    void getBookingsByPendingAndConfirmedStatuses_ValidRequest_CorrectResponse() {
-        List<Booking> actual = repository.getBookingsByPendingAndConfirmedStatuses();
+    void lockExpiredBookingIds_ValidRequest_CorrectResponse() {
+        List<Long> actual = repository.lockExpiredBookingIds(AFTER_ALL_CHECK_OUTS, 0L, 10);
 
-        assertEquals(1, actual.size());
-        assertEquals(Booking.Status.PENDING, actual.get(0).getStatus());
-        assertEquals(ID_FIVE, actual.get(0).getId());
+        assertEquals(List.of(ID_FIVE), actual);
+        assertTrue(repository.lockExpiredBookingIds(AFTER_ALL_CHECK_OUTS, ID_FIVE, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify expireBookings() method expires only active Bookings
+            """)
+    void expireBookings_ValidRequest_CorrectResponse() {
+        int actual = repository.expireBookings(List.of(ID_FIVE, ID_FIFTEEN));
+
+        assertEquals(1, actual);
+        assertTrue(repository.lockExpiredBookingIds(AFTER_ALL_CHECK_OUTS, 0L, 10).isEmpty());
     }
 
     @Test
@@ -84,4 +100,20 @@ class BookingRepositoryTest {
 
         assertTrue(actual);
     }
+
+    @Test
+    @DisplayName("""
+            Verify an overlapping active stay of the same User in the same Accommodation is rejected
+            """)
+    void saveAndFlush_OverlappingActiveStay_ThrowsException() {
+        Booking overlapping = new Booking()
+                .setStatus(Booking.Status.PENDING)
+                .setCheckInDate(LocalDate.of(2040, 1, 1))
+                .setCheckOutDate(LocalDate.of(2040, 1, 5))
+                .setAccommodation(new Accommodation().setId(ID_FOUR))
+                .setUser(new User().setId(ID_FOUR));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> repository.saveAndFlush(overlapping));
+    }
 }
@@ -0,0 +1,90 @@
+package vanii.bookingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.jdbc.Sql;
+import vanii.bookingapp.model.AccommodationInventory;
+import vanii.bookingapp.repository.inventory.InventoryRepository;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Sql(scripts = "classpath:database/accommodation/add-two-accommodations.sql",
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = "classpath:database/accommodation/delete-accommodations.sql",
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class InventoryRepositoryTest {
+    private static final Long SINGLE_UNIT_ID = 4L;
+    private static final Long TWO_UNITS_ID = 10L;
+    private static final Long BOOKING_ID = 5L;
+    private static final LocalDate FIRST_NIGHT = LocalDate.now().plusDays(1);
+    private static final LocalDate LAST_NIGHT = FIRST_NIGHT.plusDays(2);
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Test
+    @DisplayName("""
+            Verify reserveNights() reserves nights until capacity is reached
+            """)
+    void reserveNights_CapacityReached_ReturnsOnlyReservedNights() {
+        assertEquals(3, inventoryRepository.reserveNights(TWO_UNITS_ID, FIRST_NIGHT, LAST_NIGHT));
+        assertEquals(3, inventoryRepository.reserveNights(TWO_UNITS_ID, FIRST_NIGHT, LAST_NIGHT));
+        assertEquals(0, inventoryRepository.reserveNights(TWO_UNITS_ID, FIRST_NIGHT, LAST_NIGHT));
+
+        AccommodationInventory night = inventoryRepository.findById(
+                new AccommodationInventory.NightId(TWO_UNITS_ID, FIRST_NIGHT)).orElseThrow();
+        assertEquals(2, night.getBookedUnits());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reserveNights() reports partially sold out ranges
+            """)
+    void reserveNights_OverlappingRange_ReturnsFreeNightsOnly() {
+        inventoryRepository.reserveNights(SINGLE_UNIT_ID, FIRST_NIGHT, FIRST_NIGHT);
+
+        int reserved = inventoryRepository.reserveNights(SINGLE_UNIT_ID, FIRST_NIGHT, LAST_NIGHT);
+
+        assertEquals(2, reserved);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify releaseNights() frees reserved nights
+            """)
+    void releaseNights_ReservedNights_FreesCapacity() {
+        inventoryRepository.reserveNights(SINGLE_UNIT_ID, FIRST_NIGHT, LAST_NIGHT);
+
+        assertEquals(3, inventoryRepository.releaseNights(SINGLE_UNIT_ID, FIRST_NIGHT, LAST_NIGHT));
+        assertEquals(3, inventoryRepository.reserveNights(SINGLE_UNIT_ID, FIRST_NIGHT, LAST_NIGHT));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify releaseBookedNights() frees the nights of the given Bookings
+            """)
+    @Sql(scripts = {"classpath:database/user/add-user.sql",
+            "classpath:database/accommodation/add-two-accommodations.sql",
+            "classpath:database/booking/add-two-bookings.sql"},
+            executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+    @Sql(scripts = {"classpath:database/booking/delete-bookings.sql",
+            "classpath:database/accommodation/delete-accommodations.sql",
+            "classpath:database/user/delete-user.sql"},
+            executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+    void releaseBookedNights_ReservedBooking_FreesCapacity() {
+        LocalDate checkInDate = LocalDate.of(2032, 1, 1);
+        LocalDate lastNight = LocalDate.of(2045, 5, 4);
+        int nights = inventoryRepository.reserveNights(SINGLE_UNIT_ID, checkInDate, lastNight);
+
+        assertEquals(List.of(SINGLE_UNIT_ID),
+                inventoryRepository.releaseBookedNights(List.of(BOOKING_ID)));
+        assertEquals(nights, inventoryRepository.reserveNights(
+                SINGLE_UNIT_ID, checkInDate, lastNight));
+    }
+}
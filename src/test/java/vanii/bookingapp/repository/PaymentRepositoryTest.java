@@ -14,6 +14,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.jdbc.Sql;
 import vanii.bookingapp.model.Payment;
 import vanii.bookingapp.repository.payment.PaymentRepository;
+import vanii.bookingapp.repository.payment.PaymentView;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -50,7 +51,7 @@ class PaymentRepositoryTest {
             Verify getAllByUserId() method works
             """)
     void getAllByUserId_ValidRequest_CorrectResponse() {
-        List<Payment> actual = repository.getAllByUserId(ID_FOUR);
+        List<PaymentView> actual = repository.getAllByUserId(ID_FOUR);
 
         assertEquals(2, actual.size());
         assertEquals("url1007", actual.get(0).getSessionUrl());
@@ -0,0 +1,89 @@
+package vanii.bookingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class QueryPlanIndexTest {
+    private static final int USERS = 2000;
+    private static final int ACCOMMODATIONS = 2000;
+    private static final int BOOKINGS = 50000;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, first_name, last_name, password)"
+                + " SELECT 'user' || n || '@mail', 'first', 'last', 'password'"
+                + " FROM generate_series(1, ?) n", USERS);
+        jdbcTemplate.update("INSERT INTO accommodations (type, location, size, daily_rate,"
+                + " availability) SELECT (ARRAY['HOUSE', 'APARTMENT', 'CONDO',"
+                + " 'VACATION_HOME'])[n % 4 + 1], 'street ' || n, '40m2', 10 + n % 1000, 1"
+                + " FROM generate_series(1, ?) n", ACCOMMODATIONS);
+        // most bookings are finished, so the active ones are a small slice of the table
+        jdbcTemplate.update("INSERT INTO bookings (status, check_in_date, check_out_date,"
+                + " accommodation_id, user_id)"
+                + " SELECT CASE WHEN n % 50 = 0 THEN 'PENDING' ELSE 'EXPIRED' END,"
+                + " DATE '2020-01-01' + n % 2000, DATE '2020-01-03' + n % 2000,"
+                + " (SELECT min(id) FROM accommodations) + n % ?,"
+                + " (SELECT min(id) FROM users) + (n + n / ?) % ?"
+                + " FROM generate_series(1, ?) n", ACCOMMODATIONS, ACCOMMODATIONS, USERS, BOOKINGS);
+        jdbcTemplate.update("INSERT INTO payments (status, booking_id, user_id, session_url,"
+                + " session_id, amount, expires_at)"
+                + " SELECT CASE WHEN b.status = 'PENDING' THEN 'PENDING' ELSE 'PAID' END,"
+                + " b.id, b.user_id, 'url' || b.id, 'session' || b.id, 20,"
+                + " now() + interval '1 day' FROM bookings b");
+        List.of("users", "accommodations", "bookings", "payments")
+                .forEach(table -> jdbcTemplate.execute("ANALYZE " + table));
+    }
+
+    @ParameterizedTest
+    @DisplayName("""
+            Verify hot repository queries are answered by an index
+            """)
+    @ValueSource(strings = {
+            // PaymentRepository.findBySessionId
+            "SELECT * FROM payments p WHERE p.session_id = 'session77' AND p.is_deleted = false",
+            // PaymentRepository.findAllByStatus
+            "SELECT * FROM payments p WHERE p.status = 'PENDING' AND p.is_deleted = false",
+            // PaymentRepository.existsByStatusAndUserId
+            "SELECT p.id FROM payments p WHERE p.status = 'PENDING'"
+                    + " AND p.user_id = (SELECT min(id) FROM users) AND p.is_deleted = false"
+                    + " FETCH FIRST 1 ROWS ONLY",
+            // PaymentRepository.expirePendingPayments
+            "SELECT p.id FROM payments p WHERE p.status = 'PENDING'"
+                    + " AND p.expires_at < now() AND p.is_deleted = false",
+            // BookingRepository.getBookingsByUserIdAndStatus
+            "SELECT * FROM bookings b JOIN users u ON u.id = b.user_id"
+                    + " WHERE b.status = 'EXPIRED' AND u.id = (SELECT min(id) FROM users)"
+                    + " AND b.is_deleted = false AND u.is_deleted = false",
+            // BookingRepository.lockExpiredBookingIds
+            "SELECT b.id FROM bookings b WHERE b.status IN ('PENDING', 'CONFIRMED')"
+                    + " AND b.is_deleted = false AND b.check_out_date < DATE '2021-01-01'"
+                    + " AND b.id > 0 ORDER BY b.id LIMIT 500",
+            // UserRepository.findByEmail
+            "SELECT * FROM users u WHERE u.email = 'user77@mail' AND u.is_deleted = false",
+            // AccommodationRepository search by location
+            "SELECT * FROM accommodations a WHERE a.location IN ('street 7', 'street 8')"
+                    + " AND a.is_deleted = false",
+            // AccommodationRepository search by type and daily rate
+            "SELECT * FROM accommodations a WHERE a.type IN ('HOUSE')"
+                    + " AND a.daily_rate >= 20 AND a.daily_rate <= 25 AND a.is_deleted = false"
+    })
+    void explain_SeededTables_NoSequentialScan(String query) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + query, String.class);
+
+        assertFalse(plan.stream().anyMatch(line -> line.contains("Seq Scan")),
+                () -> String.join("\n", plan));
+    }
+}
@@ -0,0 +1,44 @@
+package vanii.bookingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import vanii.bookingapp.repository.lease.SchedulerLeaseRepository;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchedulerLeaseRepositoryTest {
+    private static final String JOB = "check-expired-bookings";
+    private static final String FIRST_NODE = "node-1";
+    private static final String SECOND_NODE = "node-2";
+    private static final long TTL_MILLIS = 60_000;
+    @Autowired
+    private SchedulerLeaseRepository leaseRepository;
+
+    @Test
+    @DisplayName("""
+            Verify tryAcquire() lets only the holder renew a live lease
+            """)
+    void tryAcquire_LiveLease_OnlyHolderRenews() {
+        assertEquals(1, leaseRepository.tryAcquire(JOB, FIRST_NODE, TTL_MILLIS));
+        assertEquals(0, leaseRepository.tryAcquire(JOB, SECOND_NODE, TTL_MILLIS));
+        assertEquals(1, leaseRepository.tryAcquire(JOB, FIRST_NODE, TTL_MILLIS));
+
+        assertEquals(FIRST_NODE, leaseRepository.findById(JOB).orElseThrow().getOwner());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify tryAcquire() lets another node take over an expired lease
+            """)
+    void tryAcquire_ExpiredLease_OtherNodeTakesOver() {
+        assertEquals(1, leaseRepository.tryAcquire(JOB, FIRST_NODE, -TTL_MILLIS));
+        assertEquals(1, leaseRepository.tryAcquire(JOB, SECOND_NODE, TTL_MILLIS));
+
+        assertEquals(SECOND_NODE, leaseRepository.findById(JOB).orElseThrow().getOwner());
+    }
+}
@@ -0,0 +1,87 @@
+package vanii.bookingapp.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.role.RoleRepository;
+
+// raw SQL fixtures in the other tests bypass Hibernate, so only this context turns the cache on
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider="
+                + "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SecondLevelCacheTest {
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findAll() of roles is answered from the query cache the second time
+            """)
+    void findAll_Roles_SecondCallSkipsDatabase() {
+        roleRepository.findAll();
+        entityManager.clear();
+        long statementsAfterFirstCall = statistics.getPrepareStatementCount();
+        roleRepository.findAll();
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(statementsAfterFirstCall, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify findById() of an accommodation reads the entity and its amenities from cache
+            """)
+    void findById_Accommodation_SecondCallHitsCache() {
+        Long amenityId = jdbcTemplate.queryForObject(
+                "INSERT INTO amenities (amenity) VALUES ('wifi') RETURNING id", Long.class);
+        Long accommodationId = jdbcTemplate.queryForObject("INSERT INTO accommodations (type,"
+                + " location, size, daily_rate, availability)"
+                + " VALUES ('HOUSE', 'cache st. 1', '40m2', 10, 1) RETURNING id", Long.class);
+        jdbcTemplate.update("INSERT INTO accommodation_amenity (accommodation_id, amenity_id)"
+                + " VALUES (?, ?)", accommodationId, amenityId);
+
+        accommodationRepository.findById(accommodationId);
+        entityManager.clear();
+        accommodationRepository.findById(accommodationId);
+
+        assertEquals(1, statistics.getEntityStatistics(Accommodation.class.getName())
+                .getCacheHitCount());
+        assertEquals(1, statistics.getCollectionStatistics(
+                Accommodation.class.getName() + ".amenities").getCacheHitCount());
+    }
+}
@@ -0,0 +1,81 @@
+package vanii.bookingapp.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import vanii.bookingapp.repository.lease.SchedulerLeaseRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLeaseManagerTest {
+    private static final String JOB = "check-expired-bookings";
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock
+    private SchedulerLeaseRepository leaseRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private SchedulerLeaseManager leaseManager;
+
+    @AfterEach
+    void tearDown() {
+        leaseManager.stop();
+    }
+
+    @Test
+    @DisplayName("""
+            Verify keepRenewing() marks the lease lost once another node took it over
+            """)
+    void keepRenewing_LeaseTakenOver_MarksLeaseLost() throws InterruptedException {
+        leaseManager = newLeaseManager(300);
+        when(leaseRepository.tryAcquire(eq(JOB), anyString(), anyLong())).thenReturn(0);
+
+        try (SchedulerLeaseManager.Lease lease = leaseManager.keepRenewing(JOB)) {
+            Thread.sleep(200);
+
+            assertFalse(lease.isHeld());
+            assertThrows(IllegalStateException.class, () -> leaseManager.assertHeld());
+        }
+        assertEquals(1, meterRegistry.get("scheduler.leases.lost").tag("job", JOB)
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify keepRenewing() keeps renewing after a failed renewal within the ttl
+            """)
+    void keepRenewing_RenewalThrowsOnce_KeepsRenewing() throws InterruptedException {
+        leaseManager = newLeaseManager(300);
+        when(leaseRepository.tryAcquire(eq(JOB), anyString(), anyLong()))
+                .thenThrow(new IllegalStateException("Connection reset"))
+                .thenReturn(1);
+
+        try (SchedulerLeaseManager.Lease lease = leaseManager.keepRenewing(JOB)) {
+            Thread.sleep(350);
+
+            assertTrue(lease.isHeld());
+            leaseManager.assertHeld();
+        }
+        verify(leaseRepository, atLeast(2)).tryAcquire(eq(JOB), anyString(), anyLong());
+        assertTrue(meterRegistry.find("scheduler.leases.lost").counters().isEmpty());
+    }
+
+    private SchedulerLeaseManager newLeaseManager(long ttlMillis) {
+        return new SchedulerLeaseManager(
+                leaseRepository, transactionManager, meterRegistry, "node-1", ttlMillis);
+    }
+}
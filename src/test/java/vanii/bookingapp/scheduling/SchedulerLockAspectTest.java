@@ -0,0 +1,70 @@
+package vanii.bookingapp.scheduling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerLockAspectTest {
+    private static final String JOB = "check-expired-sessions";
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock
+    private SchedulerLeaseManager leaseManager;
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+    @Mock
+    private SchedulerLock schedulerLock;
+    private SchedulerLockAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        aspect = new SchedulerLockAspect(leaseManager, meterRegistry);
+        when(schedulerLock.value()).thenReturn(JOB);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify runOnLeaseHolder() runs the job and renews the lease while it runs
+            """)
+    void runOnLeaseHolder_LeaseAcquired_RunsJob() throws Throwable {
+        SchedulerLeaseManager.Lease lease = mock(SchedulerLeaseManager.Lease.class);
+        when(leaseManager.tryAcquire(JOB)).thenReturn(true);
+        doReturn(lease).when(leaseManager).keepRenewing(JOB);
+
+        aspect.runOnLeaseHolder(joinPoint, schedulerLock);
+
+        verify(joinPoint).proceed();
+        verify(lease).close();
+        assertEquals(1, meterRegistry.get("scheduler.runs").tag("outcome", "run")
+                .counter().count());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify runOnLeaseHolder() skips the tick when another node holds the lease
+            """)
+    void runOnLeaseHolder_LeaseHeldElsewhere_SkipsJob() throws Throwable {
+        when(leaseManager.tryAcquire(JOB)).thenReturn(false);
+
+        assertNull(aspect.runOnLeaseHolder(joinPoint, schedulerLock));
+
+        verify(joinPoint, never()).proceed();
+        verify(leaseManager, never()).keepRenewing(anyString());
+        assertEquals(1, meterRegistry.get("scheduler.runs").tag("outcome", "skipped")
+                .counter().count());
+    }
+}
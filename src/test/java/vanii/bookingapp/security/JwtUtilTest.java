@@ -0,0 +1,75 @@
+package vanii.bookingapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.jsonwebtoken.JwtException;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class JwtUtilTest {
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hs256";
+    private static final String USERNAME = "mail@ua";
+    private static final long EXPIRATION = 60_000L;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 100);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRATION);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify parseAndValidate() returns subject and expiry of a valid token
+            """)
+    void parseAndValidate_ValidToken_ReturnsSubjectAndExpiry() {
+        String token = jwtUtil.generateToken(USERNAME);
+
+        JwtUtil.VerifiedToken actual = jwtUtil.parseAndValidate(token);
+
+        assertEquals(USERNAME, actual.username());
+        assertTrue(actual.expiration().after(new Date()));
+        assertEquals(actual, jwtUtil.parseAndValidate(token));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify parseAndValidate() rejects a token with a wrong signature
+            """)
+    void parseAndValidate_TamperedToken_ThrowsException() {
+        JwtUtil otherJwtUtil = new JwtUtil(SECRET.toUpperCase(), 100);
+        ReflectionTestUtils.setField(otherJwtUtil, "expiration", EXPIRATION);
+        String token = otherJwtUtil.generateToken(USERNAME);
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseAndValidate(token));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify parseAndValidate() rejects an expired token
+            """)
+    void parseAndValidate_ExpiredToken_ThrowsException() {
+        ReflectionTestUtils.setField(jwtUtil, "expiration", -1000L);
+        String token = jwtUtil.generateToken(USERNAME);
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseAndValidate(token));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify parseAndValidate() serves a repeated token from the verified token cache
+            """)
+    void parseAndValidate_RepeatedToken_ReturnsCachedToken() {
+        String token = jwtUtil.generateToken(USERNAME);
+
+        JwtUtil.VerifiedToken first = jwtUtil.parseAndValidate(token);
+
+        assertSame(first, jwtUtil.parseAndValidate(token));
+    }
+}
@@ -0,0 +1,74 @@
+package vanii.bookingapp.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vanii.bookingapp.model.User;
+
+class PrincipalCacheTest {
+    private static final String USERNAME = "mail@ua";
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, UserDetails> loader = username -> {
+        loads.incrementAndGet();
+        return new User().setEmail(username);
+    };
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(100, 60);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify get() loads a principal only once
+            """)
+    void get_RepeatedRequests_LoadsOnce() {
+        UserDetails first = principalCache.get(USERNAME, loader);
+        UserDetails second = principalCache.get(USERNAME, loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify evict() forces the principal to be reloaded
+            """)
+    void evict_CachedPrincipal_ReloadsPrincipal() {
+        principalCache.get(USERNAME, loader);
+
+        principalCache.evict(USERNAME);
+        principalCache.get(USERNAME, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify evict() inside a transaction evicts again after completion
+            """)
+    void evict_ActiveTransaction_EvictsAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            principalCache.evict(USERNAME);
+            principalCache.get(USERNAME, loader);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        principalCache.get(USERNAME, loader);
+
+        assertEquals(2, loads.get());
+    }
+}
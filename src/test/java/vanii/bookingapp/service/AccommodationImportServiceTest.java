@@ -0,0 +1,137 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.dto.accomodation.AccommodationRequestDto;
+import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
+import vanii.bookingapp.dto.accomodation.ImportSummaryDto;
+import vanii.bookingapp.mapper.AccommodationMapper;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.amenity.AmenityRepository;
+import vanii.bookingapp.service.accommodation.AccommodationImportService;
+import vanii.bookingapp.service.accommodation.AccommodationImportServiceImpl;
+import vanii.bookingapp.service.accommodation.AccommodationSearchCache;
+import vanii.bookingapp.service.accommodation.AccommodationSearchIndex;
+import vanii.bookingapp.service.notification.NotificationService;
+
+@ExtendWith(MockitoExtension.class)
+class AccommodationImportServiceTest {
+    @Mock
+    private AccommodationRepository accommodationRepository;
+    @Mock
+    private AmenityRepository amenityRepository;
+    @Mock
+    private AccommodationMapper mapper;
+    @Mock
+    private AccommodationSearchIndex searchIndex;
+    @Mock
+    private AccommodationSearchCache searchCache;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private AccommodationImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new AccommodationImportServiceImpl(accommodationRepository,
+                amenityRepository, mapper, searchIndex, searchCache, notificationService,
+                transactionTemplate, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify importAccommodations() saves valid CSV rows and reports the rejected ones
+            """)
+    void importAccommodations_MixedCsvRows_ReportsRejectedRows() throws IOException {
+        String csv = """
+                type,location,size,amenityIds,dailyRate,availability
+                HOUSE,"Main st. 1, Kyiv",40m2,1;2,25,2
+                CASTLE,Main st. 2,40m2,,25,2
+                HOUSE,Main st. 3,40m2,9,25,2
+                HOUSE,Main st. 4,40m2,,cheap,2
+                """;
+        whenRowsAreSaved();
+        when(amenityRepository.findExistingIds(Set.of(1L, 2L, 9L))).thenReturn(Set.of(1L, 2L));
+
+        List<String> report = importAccommodations(csv, AccommodationImportService.Format.CSV);
+
+        assertEquals(4, report.size());
+        assertEquals("{\"line\":3,\"errors\":[\"type must be one of these: HOUSE,"
+                + " APARTMENT, CONDO, VACATION_HOME\"]}", report.get(0));
+        assertTrue(report.get(1).startsWith("{\"line\":5,\"errors\":[\"Can't parse row:"));
+        assertEquals("{\"line\":4,\"errors\":[\"Can't find Amenities with ids: [9]\"]}",
+                report.get(2));
+        assertEquals("{\"imported\":1,\"failed\":3}", report.get(3));
+        verify(mapper).toModel(new AccommodationRequestDto("HOUSE", "Main st. 1, Kyiv",
+                "40m2", Set.of(1L, 2L), new BigDecimal("25"), 2));
+        verify(notificationService).notifyAccommodationsImported(1, 3);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify importAccommodations() reads NDJSON rows one line at a time
+            """)
+    void importAccommodations_NdjsonRows_ImportsValidRows() throws IOException {
+        String ndjson = """
+                {"type":"CONDO","location":"Main st. 1","size":"40m2","dailyRate":30,\
+                "availability":1}
+                {"type":"CONDO","location":null,"size":"40m2","dailyRate":30,"availability":1}
+                """;
+        whenRowsAreSaved();
+
+        List<String> report = importAccommodations(
+                ndjson, AccommodationImportService.Format.NDJSON);
+
+        assertEquals(List.of(
+                "{\"line\":2,\"errors\":[\"location must not be null\"]}",
+                "{\"imported\":1,\"failed\":1}"), report);
+        verify(notificationService).notifyAccommodationsImported(1, 1);
+    }
+
+    private List<String> importAccommodations(
+            String body,
+            AccommodationImportService.Format format
+    ) throws IOException {
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        ImportSummaryDto summary = importService.importAccommodations(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format, report);
+        List<String> lines = report.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(new ObjectMapper().writeValueAsString(summary), lines.get(lines.size() - 1));
+        return lines;
+    }
+
+    private void whenRowsAreSaved() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        when(mapper.toModel(any(AccommodationRequestDto.class)))
+                .thenAnswer(invocation -> new Accommodation().setType(Accommodation.Type.HOUSE));
+        when(accommodationRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDto(any(Accommodation.class))).thenReturn(new AccommodationResponseDto());
+    }
+}
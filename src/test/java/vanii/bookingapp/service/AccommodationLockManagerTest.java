@@ -0,0 +1,83 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import vanii.bookingapp.service.lock.AccommodationLockManagerImpl;
+
+class AccommodationLockManagerTest {
+    private static final int STRIPES = 4;
+    private static final Long ID = 1L;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("""
+            Verify lock() does nothing when striped locking is disabled
+            """)
+    void lock_Disabled_DoesNothing() {
+        AccommodationLockManagerImpl lockManager =
+                new AccommodationLockManagerImpl(false, STRIPES, meterRegistry);
+
+        assertDoesNotThrow(() -> lockManager.lock(ID));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify lock() requires an active transaction
+            """)
+    void lock_OutsideTransaction_ThrowsException() {
+        AccommodationLockManagerImpl lockManager =
+                new AccommodationLockManagerImpl(true, STRIPES, meterRegistry);
+
+        assertThrows(IllegalStateException.class, () -> lockManager.lock(ID));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify lock() holds the stripe until the transaction completes
+            """)
+    void lock_ConcurrentTransaction_WaitsForCompletion() throws Exception {
+        AccommodationLockManagerImpl lockManager =
+                new AccommodationLockManagerImpl(true, STRIPES, meterRegistry);
+        TransactionSynchronizationManager.initSynchronization();
+        lockManager.lock(ID, ID + STRIPES);
+
+        CompletableFuture<Void> concurrentTransaction = CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            lockManager.lock(ID);
+            completeTransaction();
+        });
+
+        assertThrows(TimeoutException.class,
+                () -> concurrentTransaction.get(200, TimeUnit.MILLISECONDS));
+        assertFalse(concurrentTransaction.isDone());
+        completeTransaction();
+        concurrentTransaction.get(5, TimeUnit.SECONDS);
+        assertEquals(2, meterRegistry.get("booking.lock.wait")
+                .tag("stripe", String.valueOf(ID)).timer().count());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            completeTransaction();
+        }
+    }
+
+    private static void completeTransaction() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,110 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
+import vanii.bookingapp.dto.accomodation.AccommodationSearchParameters;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.service.accommodation.AccommodationSearchCache;
+
+class AccommodationSearchCacheTest {
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+    private final AtomicInteger searches = new AtomicInteger();
+    private AccommodationSearchCache searchCache;
+
+    @BeforeEach
+    void setUp() {
+        searchCache = new AccommodationSearchCache(1_000_000, 60, new SimpleMeterRegistry());
+        searches.set(0);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify get() shares one entry between equivalent search parameters
+            """)
+    void get_ReorderedParameters_HitsCache() {
+        search(new AccommodationSearchParameters()
+                .setLocation(new String[] {"Paris", "Rome"})
+                .setMinDailyRate(new String[] {"10", "20"}));
+        search(new AccommodationSearchParameters()
+                .setLocation(new String[] {"Rome", "Paris", "Rome"})
+                .setMinDailyRate(new String[] {"10.00"}));
+        searchCache.get(PageRequest.of(1, 10), new AccommodationSearchParameters()
+                .setLocation(new String[] {"Rome", "Paris"}), this::countedSearch);
+
+        assertEquals(2, searches.get());
+        assertEquals(1.0 / 3, searchCache.hitRatio(), 0.001);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify invalidate() drops only entries the changed accommodation could match
+            """)
+    void invalidate_ChangedAccommodation_DropsAffectedEntries() {
+        AccommodationSearchParameters paris = new AccommodationSearchParameters()
+                .setLocation(new String[] {"Paris"});
+        AccommodationSearchParameters rome = new AccommodationSearchParameters()
+                .setLocation(new String[] {"Rome"});
+        AccommodationSearchParameters cheapWithWifi = new AccommodationSearchParameters()
+                .setMaxDailyRate(new String[] {"50"})
+                .setAmenities(new String[] {"1"});
+        search(paris);
+        search(rome);
+        search(cheapWithWifi);
+
+        searchCache.invalidate(new AccommodationResponseDto()
+                .setId(1L)
+                .setType(Accommodation.Type.HOUSE)
+                .setLocation("Paris")
+                .setAmenityIds(Set.of(2L))
+                .setDailyRate(BigDecimal.valueOf(30))
+                .setAvailability(1));
+        search(paris);
+        search(rome);
+        search(cheapWithWifi);
+
+        assertEquals(4, searches.get());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify get() hands out copies a caller can change without touching the cache
+            """)
+    void get_ReturnedRowChanged_CachedRowUnchanged() {
+        AccommodationSearchParameters paris = new AccommodationSearchParameters()
+                .setLocation(new String[] {"Paris"});
+        AccommodationResponseDto searched = new AccommodationResponseDto()
+                .setId(1L)
+                .setLocation("Paris")
+                .setAmenityIds(new HashSet<>(Set.of(1L)));
+        searchCache.get(FIRST_PAGE, paris, () -> List.of(searched));
+
+        searched.setLocation("Rome");
+        AccommodationResponseDto first = searchCache.get(FIRST_PAGE, paris, List::of).get(0);
+        first.setLocation("Rome").getAmenityIds().add(2L);
+        AccommodationResponseDto second = searchCache.get(FIRST_PAGE, paris, List::of).get(0);
+
+        assertEquals("Paris", second.getLocation());
+        assertEquals(Set.of(1L), second.getAmenityIds());
+    }
+
+    private void search(AccommodationSearchParameters searchParameters) {
+        searchCache.get(FIRST_PAGE, searchParameters, this::countedSearch);
+    }
+
+    private List<AccommodationResponseDto> countedSearch() {
+        searches.incrementAndGet();
+        return List.of(new AccommodationResponseDto().setId((long) searches.get()));
+    }
+}
@@ -0,0 +1,202 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import vanii.bookingapp.dto.accomodation.AccommodationResponseDto;
+import vanii.bookingapp.dto.accomodation.AccommodationSearchParameters;
+import vanii.bookingapp.mapper.AccommodationMapper;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.model.Amenity;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.service.accommodation.AccommodationSearchIndex;
+
+@ExtendWith(MockitoExtension.class)
+class AccommodationSearchIndexTest {
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10);
+    @Mock
+    private AccommodationRepository accommodationRepository;
+    @Mock
+    private AccommodationMapper mapper;
+    private AccommodationSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new AccommodationSearchIndex(accommodationRepository, mapper, true);
+    }
+
+    @Test
+    @DisplayName("Verify search() falls back while the index is warming up")
+    void search_NotWarmedUp_ReturnsEmpty() {
+        Optional<List<AccommodationResponseDto>> actual =
+                searchIndex.search(FIRST_PAGE, new AccommodationSearchParameters());
+
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify search() falls back when the index is disabled")
+    void search_Disabled_ReturnsEmpty() {
+        AccommodationSearchIndex disabledIndex =
+                new AccommodationSearchIndex(accommodationRepository, mapper, false);
+        disabledIndex.warmUp();
+
+        Optional<List<AccommodationResponseDto>> actual =
+                disabledIndex.search(FIRST_PAGE, new AccommodationSearchParameters());
+
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify search() combines type, location and range filters")
+    void search_AllFilters_ReturnsMatchingAccommodations() {
+        warmUp(accommodation(1L, Accommodation.Type.HOUSE, "Kyiv", 25, 2),
+                accommodation(2L, Accommodation.Type.HOUSE, "Lviv", 40, 1),
+                accommodation(3L, Accommodation.Type.CONDO, "Kyiv", 30, 3),
+                accommodation(4L, Accommodation.Type.HOUSE, "Kyiv", 90, 5));
+        AccommodationSearchParameters searchParameters = new AccommodationSearchParameters()
+                .setType(new String[] {"HOUSE", "CONDO"})
+                .setLocation(new String[] {"Kyiv"})
+                .setMinDailyRate(new String[] {"30", "20"})
+                .setMaxDailyRate(new String[] {"50"})
+                .setMinAvailable(new String[] {"2"});
+
+        List<Long> actual = ids(searchIndex.search(FIRST_PAGE, searchParameters).orElseThrow());
+
+        assertEquals(List.of(1L, 3L), actual);
+    }
+
+    @Test
+    @DisplayName("Verify search() keeps accommodations having all requested amenities")
+    void search_Amenities_ReturnsAccommodationsWithAllOfThem() {
+        warmUp(accommodation(1L, Accommodation.Type.HOUSE, "Kyiv", 25, 2),
+                accommodation(2L, Accommodation.Type.HOUSE, "Kyiv", 25, 2)
+                        .setAmenities(Set.of(new Amenity().setId(1L), new Amenity().setId(2L))));
+
+        List<Long> bothAmenities = ids(searchIndex.search(FIRST_PAGE,
+                new AccommodationSearchParameters().setAmenities(new String[] {"1", "2"}))
+                .orElseThrow());
+        List<Long> unknownAmenity = ids(searchIndex.search(FIRST_PAGE,
+                new AccommodationSearchParameters().setAmenities(new String[] {"3"}))
+                .orElseThrow());
+
+        assertEquals(List.of(2L), bothAmenities);
+        assertTrue(unknownAmenity.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify search() pages results in id order")
+    void search_SecondPage_ReturnsNextIds() {
+        warmUp(accommodation(3L, Accommodation.Type.HOUSE, "Kyiv", 25, 2),
+                accommodation(1L, Accommodation.Type.HOUSE, "Kyiv", 25, 2),
+                accommodation(2L, Accommodation.Type.HOUSE, "Kyiv", 25, 2));
+
+        List<Long> actual = ids(searchIndex.search(PageRequest.of(1, 2),
+                new AccommodationSearchParameters()).orElseThrow());
+
+        assertEquals(List.of(3L), actual);
+    }
+
+    @Test
+    @DisplayName("Verify search() falls back for sorted requests")
+    void search_SortedPageable_ReturnsEmpty() {
+        warmUp(accommodation(1L, Accommodation.Type.HOUSE, "Kyiv", 25, 2));
+
+        Optional<List<AccommodationResponseDto>> actual = searchIndex.search(
+                PageRequest.of(0, 10, Sort.by("dailyRate")), new AccommodationSearchParameters());
+
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Verify index() and evict() keep the index current")
+    void indexAndEvict_ChangedAccommodations_SearchSeesChanges() {
+        warmUp(accommodation(1L, Accommodation.Type.HOUSE, "Kyiv", 25, 2),
+                accommodation(2L, Accommodation.Type.HOUSE, "Kyiv", 25, 2));
+        AccommodationSearchParameters searchParameters = new AccommodationSearchParameters()
+                .setLocation(new String[] {"Kyiv"});
+
+        searchIndex.index(accommodation(1L, Accommodation.Type.HOUSE, "Lviv", 25, 2));
+        searchIndex.index(accommodation(5L, Accommodation.Type.CONDO, "Kyiv", 60, 1));
+        searchIndex.evict(2L);
+
+        List<Long> actual = ids(searchIndex.search(FIRST_PAGE, searchParameters).orElseThrow());
+
+        assertEquals(List.of(5L), actual);
+    }
+
+    @Test
+    @DisplayName("Verify index() reuses the slot of the row it replaces")
+    void index_RepeatedUpdates_ReusesSlots() {
+        warmUp(accommodation(1L, Accommodation.Type.HOUSE, "Kyiv", 25, 2),
+                accommodation(2L, Accommodation.Type.HOUSE, "Kyiv", 25, 2));
+
+        for (int i = 0; i < 1000; i++) {
+            searchIndex.index(accommodation(1L, Accommodation.Type.HOUSE, "Kyiv", 25 + i, 2));
+        }
+        searchIndex.evict(2L);
+        searchIndex.index(accommodation(3L, Accommodation.Type.CONDO, "Lviv", 30, 1));
+
+        assertEquals(2, ReflectionTestUtils.getField(searchIndex, "size"));
+        assertEquals(List.of(1L, 3L), ids(searchIndex.search(FIRST_PAGE,
+                new AccommodationSearchParameters()).orElseThrow()));
+    }
+
+    private void warmUp(Accommodation... accommodations) {
+        when(mapper.toDto(any(Accommodation.class)))
+                .thenAnswer(invocation -> toDto(invocation.getArgument(0)));
+        when(accommodationRepository.findAll(Sort.by("id"))).thenReturn(List.of(accommodations));
+        searchIndex.warmUp();
+    }
+
+    private List<Long> ids(List<AccommodationResponseDto> accommodations) {
+        return accommodations.stream()
+                .map(AccommodationResponseDto::getId)
+                .toList();
+    }
+
+    private Accommodation accommodation(
+            Long id,
+            Accommodation.Type type,
+            String location,
+            int dailyRate,
+            int availability
+    ) {
+        return new Accommodation()
+                .setId(id)
+                .setType(type)
+                .setLocation(location)
+                .setAmenities(Set.of(new Amenity().setId(1L)))
+                .setDailyRate(BigDecimal.valueOf(dailyRate))
+                .setAvailability(availability);
+    }
+
+    private AccommodationResponseDto toDto(Accommodation accommodation) {
+        return new AccommodationResponseDto()
+                .setId(accommodation.getId())
+                .setType(accommodation.getType())
+                .setLocation(accommodation.getLocation())
+                .setAmenityIds(accommodation.getAmenities().stream()
+                        .map(Amenity::getId)
+                        .collect(Collectors.toSet()))
+                .setDailyRate(accommodation.getDailyRate())
+                .setAvailability(accommodation.getAvailability());
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -14,6 +15,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -34,8 +36,11 @@ import vanii.bookingapp.dto.accomodation.AccommodationWithoutAmenityIdsDto;
 import vanii.bookingapp.mapper.AccommodationMapper;
 import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.accommodation.AmenityIdsView;
 import vanii.bookingapp.repository.accommodation.AccommodationSpecificationBuilder;
 import vanii.bookingapp.repository.amenity.AmenityRepository;
+import vanii.bookingapp.service.accommodation.AccommodationSearchCache;
+import vanii.bookingapp.service.accommodation.AccommodationSearchIndex;
 import vanii.bookingapp.service.accommodation.AccommodationServiceImpl;
 import vanii.bookingapp.service.notification.NotificationService;
 
@@ -45,6 +50,7 @@ class AccommodationServiceTest {
     private static AccommodationRequestDto requestDto;
     private static Accommodation accommodation;
     private static AccommodationResponseDto expected;
+    private static AccommodationWithoutAmenityIdsDto row;
 
     @Mock
     private AccommodationRepository accommodationRepository;
@@ -56,6 +62,10 @@ class AccommodationServiceTest {
     private NotificationService notificationService;
     @Mock
     private AccommodationSpecificationBuilder specificationBuilder;
+    @Mock
+    private AccommodationSearchIndex searchIndex;
+    @Mock
+    private AccommodationSearchCache searchCache;
     @InjectMocks
     private AccommodationServiceImpl accommodationService;
 
@@ -77,10 +87,13 @@ class AccommodationServiceTest {
     @Test
     @DisplayName("Verify getById() method works")
     void getById_ValidRequest_CorrectResponse() {
-        when(accommodationRepository.findById(anyLong())).thenReturn(Optional.of(accommodation));
-        when(accommodationMapper.toDto(accommodation)).thenReturn(expected);
+        AmenityIdsView amenityIds = amenityIdsView(ID_ONE, 2L);
+        when(accommodationRepository.findRowById(ID_ONE)).thenReturn(Optional.of(row));
+        when(accommodationRepository.findAmenityIds(List.of(ID_ONE)))
+                .thenReturn(List.of(amenityIds));
+        when(accommodationMapper.toDto(row, Set.of(2L))).thenReturn(expected);
 
-        AccommodationResponseDto actual = accommodationService.getById(anyLong());
+        AccommodationResponseDto actual = accommodationService.getById(ID_ONE);
 
         assertEquals(expected, actual);
         verifyNoMoreInteractions(accommodationRepository, accommodationMapper);
@@ -90,12 +103,10 @@ class AccommodationServiceTest {
     @DisplayName("Verify getAll() method works")
     void getAll_ValidRequest_CorrectResponse() {
         Pageable pageable = PageRequest.of(0, 5);
-        List<Accommodation> accommodationList = List.of(accommodation);
-        Page<Accommodation> page = new PageImpl<>(
-                accommodationList, pageable, accommodationList.size());
 
-        when(accommodationRepository.findAll(pageable)).thenReturn(page);
-        when(accommodationMapper.toDto(accommodation)).thenReturn(expected);
+        when(accommodationRepository.findRows(any(), eq(pageable))).thenReturn(List.of(row));
+        when(accommodationRepository.findAmenityIds(List.of(ID_ONE))).thenReturn(List.of());
+        when(accommodationMapper.toDto(row, Set.of())).thenReturn(expected);
 
         List<AccommodationResponseDto> actualPage = accommodationService.getAll(pageable);
 
@@ -136,17 +147,18 @@ class AccommodationServiceTest {
     @DisplayName("Verify search() method works")
     void search_ValidRequest_CorrectResponse() {
         Pageable pageable = PageRequest.of(0, 5);
-        List<Accommodation> accommodationList = List.of(accommodation);
-        Page<Accommodation> page = new PageImpl<>(
-                accommodationList, pageable, accommodationList.size());
-
         AccommodationSearchParameters searchParameters = new AccommodationSearchParameters()
                 .setType(new String[] {"HOUSE"});
         Specification<Accommodation> specification = mock(Specification.class);
+        AmenityIdsView amenityIds = amenityIdsView(ID_ONE, 2L);
 
+        whenCacheMisses(pageable, searchParameters);
+        when(searchIndex.search(pageable, searchParameters)).thenReturn(Optional.empty());
         when(specificationBuilder.build(searchParameters)).thenReturn(specification);
-        when(accommodationRepository.findAll(specification, pageable)).thenReturn(page);
-        when(accommodationMapper.toDto(accommodation)).thenReturn(expected);
+        when(accommodationRepository.findRows(specification, pageable)).thenReturn(List.of(row));
+        when(accommodationRepository.findAmenityIds(List.of(ID_ONE)))
+                .thenReturn(List.of(amenityIds));
+        when(accommodationMapper.toDto(row, Set.of(2L))).thenReturn(expected);
 
         List<AccommodationResponseDto> actualPage =
                 accommodationService.search(pageable, searchParameters);
@@ -158,6 +170,25 @@ class AccommodationServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Verify search() method is answered by a warm search index")
+    void search_WarmIndex_SkipsSpecificationPath() {
+        Pageable pageable = PageRequest.of(0, 5);
+        AccommodationSearchParameters searchParameters = new AccommodationSearchParameters()
+                .setType(new String[] {"HOUSE"});
+
+        whenCacheMisses(pageable, searchParameters);
+        when(searchIndex.search(pageable, searchParameters))
+                .thenReturn(Optional.of(List.of(expected)));
+
+        List<AccommodationResponseDto> actualPage =
+                accommodationService.search(pageable, searchParameters);
+
+        assertEquals(List.of(expected), actualPage);
+        verifyNoMoreInteractions(
+                specificationBuilder, accommodationRepository, accommodationMapper);
+    }
+
     @Test
     @DisplayName("Verify update() method works")
     void update_ValidRequest_CorrectResponse() {
@@ -185,6 +216,7 @@ class AccommodationServiceTest {
                 .setAvailability(updatedAccommodation.getAvailability());
 
         when(accommodationRepository.findById(anyLong())).thenReturn(Optional.of(accommodation));
+        when(accommodationMapper.toDto(accommodation)).thenReturn(expected);
         doNothing().when(accommodationMapper).updateAccommodation(accommodation, updateRequest);
         when(accommodationRepository.save(any(Accommodation.class)))
                 .thenReturn(updatedAccommodation);
@@ -230,21 +262,57 @@ class AccommodationServiceTest {
         AccommodationRequestDto accommodationTemplate = new AccommodationRequestDto(
                 "APARTMENT", "raffaello_st. 22", "80 m2",
                 Set.of(ID_ONE), BigDecimal.valueOf(15), 1);
-        when(amenityRepository.existsById(ID_ONE)).thenReturn(false);
+        when(amenityRepository.findExistingIds(Set.of(ID_ONE))).thenReturn(Set.of());
 
         Exception exception = assertThrows(
                 RuntimeException.class,
                 () -> accommodationService.save(accommodationTemplate)
         );
 
-        String expectedMessage = "Can't find Amenity with id: "
-                + ID_ONE;
+        String expectedMessage = "Can't find Amenities with ids: [" + ID_ONE + "]";
         String actualMessage = exception.getMessage();
 
         assertEquals(expectedMessage, actualMessage);
         verifyNoMoreInteractions(accommodationRepository);
     }
 
+    @Test
+    @DisplayName("""
+            Verify update() reports every missing amenity with one query
+            """)
+    void update_MissingAmenities_ThrowsException() {
+        AccommodationRequestDto updateRequest = new AccommodationRequestDto(
+                "APARTMENT", "raffaello_st. 22", "80 m2",
+                Set.of(ID_ONE, 2L, 3L), BigDecimal.valueOf(15), 1);
+        when(amenityRepository.findExistingIds(updateRequest.amenityIds()))
+                .thenReturn(Set.of(2L));
+
+        Exception exception = assertThrows(
+                RuntimeException.class,
+                () -> accommodationService.update(updateRequest, ID_ONE)
+        );
+
+        assertEquals("Can't find Amenities with ids: [1, 3]", exception.getMessage());
+        verifyNoMoreInteractions(amenityRepository, accommodationRepository);
+    }
+
+    private AmenityIdsView amenityIdsView(Long accommodationId, Long... amenityIds) {
+        AmenityIdsView view = mock(AmenityIdsView.class);
+        when(view.getAccommodationId()).thenReturn(accommodationId);
+        when(view.getAmenityIds()).thenReturn(amenityIds);
+        return view;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void whenCacheMisses(
+            Pageable pageable,
+            AccommodationSearchParameters searchParameters
+    ) {
+        when(searchCache.get(eq(pageable), eq(searchParameters), any()))
+                .thenAnswer(invocation -> ((Supplier<List<AccommodationResponseDto>>)
+                        invocation.getArgument(2)).get());
+    }
+
     @BeforeAll
     static void setUp() {
         requestDto = new AccommodationRequestDto("HOUSE",
@@ -261,6 +329,9 @@ class AccommodationServiceTest {
                 .setSize(requestDto.size())
                 .setDailyRate(requestDto.dailyRate())
                 .setAvailability(requestDto.availability());
+        row = new AccommodationWithoutAmenityIdsDto(ID_ONE, accommodation.getType(),
+                accommodation.getLocation(), accommodation.getSize(),
+                accommodation.getDailyRate(), accommodation.getAvailability());
         expected = new AccommodationResponseDto()
                 .setId(accommodation.getId())
                 .setType(accommodation.getType())
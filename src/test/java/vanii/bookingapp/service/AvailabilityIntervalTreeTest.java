@@ -0,0 +1,60 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vanii.bookingapp.service.inventory.AvailabilityIntervalTree;
+
+class AvailabilityIntervalTreeTest {
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2030, 1, 1);
+    private static final int CAPACITY = 3;
+
+    @Test
+    @DisplayName("""
+            Verify hasFreeUnits() is false once any night of the stay is sold out
+            """)
+    void hasFreeUnits_OneNightSoldOut_ReturnsFalse() {
+        AvailabilityIntervalTree tree = new AvailabilityIntervalTree(CAPACITY);
+        tree.add(FIRST_NIGHT, FIRST_NIGHT.plusDays(9), 2);
+        tree.add(FIRST_NIGHT.plusDays(5), FIRST_NIGHT.plusDays(5), 1);
+
+        assertTrue(tree.hasFreeUnits(FIRST_NIGHT, FIRST_NIGHT.plusDays(4)));
+        assertFalse(tree.hasFreeUnits(FIRST_NIGHT.plusDays(3), FIRST_NIGHT.plusDays(7)));
+        assertTrue(tree.hasFreeUnits(FIRST_NIGHT.plusDays(6), FIRST_NIGHT.plusDays(20)));
+
+        tree.add(FIRST_NIGHT.plusDays(5), FIRST_NIGHT.plusDays(5), -1);
+
+        assertTrue(tree.hasFreeUnits(FIRST_NIGHT.plusDays(3), FIRST_NIGHT.plusDays(7)));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify hasFreeUnits() agrees with counting every night under random stays
+            """)
+    void hasFreeUnits_RandomStays_MatchesNightlyCounts() {
+        AvailabilityIntervalTree tree = new AvailabilityIntervalTree(CAPACITY);
+        int[] bookedUnits = new int[400];
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            int first = random.nextInt(bookedUnits.length);
+            int last = first + random.nextInt(bookedUnits.length - first);
+            boolean expected = true;
+            for (int night = first; night <= last; night++) {
+                expected &= bookedUnits[night] < CAPACITY;
+            }
+            LocalDate firstNight = FIRST_NIGHT.plusDays(first);
+            LocalDate lastNight = FIRST_NIGHT.plusDays(last);
+            assertEquals(expected, tree.hasFreeUnits(firstNight, lastNight));
+            int units = expected ? 1 : -1;
+            tree.add(firstNight, lastNight, units);
+            for (int night = first; night <= last; night++) {
+                bookedUnits[night] += units;
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.jdbc.Sql;
+import vanii.bookingapp.dto.booking.BookingRequestDto;
+import vanii.bookingapp.exception.EntityCannotBeUsedException;
+import vanii.bookingapp.model.User;
+import vanii.bookingapp.service.booking.BookingService;
+
+@SpringBootTest
+@Sql(scripts = {"classpath:database/user/add-user.sql",
+        "classpath:database/accommodation/add-two-accommodations.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"classpath:database/booking/delete-bookings.sql",
+        "classpath:database/accommodation/delete-accommodations.sql",
+        "classpath:database/user/delete-user.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class BookingConcurrencyTest {
+    private static final int ATTEMPTS = 64;
+    private static final int THREADS = 16;
+    private static final int CAPACITY = 2;
+    private static final Long ACCOMMODATION_ID = 10L;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> userIds;
+
+    // one User per attempt, ex_bookings_user_accommodation_stay allows a single active stay
+    // of a User in an Accommodation
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, first_name, last_name, password)"
+                + " SELECT 'user' || n || '@mail', 'first', 'last', 'password'"
+                + " FROM generate_series(1, ?) n", ATTEMPTS - 1);
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify parallel save() calls never oversell an Accommodation
+            """)
+    void save_ParallelBookings_NoOversell() throws Exception {
+        BookingRequestDto requestDto = new BookingRequestDto(LocalDate.now().plusDays(10),
+                LocalDate.now().plusDays(15), ACCOMMODATION_ID);
+
+        AttemptsResult result = runInParallel(() -> bookingService.save(requestDto));
+
+        assertEquals(CAPACITY, result.successes());
+        assertEquals(ATTEMPTS - CAPACITY, result.rejections());
+        assertEquals(CAPACITY, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bookings WHERE accommodation_id = ?",
+                Integer.class, ACCOMMODATION_ID));
+        assertEquals(CAPACITY, jdbcTemplate.queryForObject(
+                "SELECT MAX(booked_units) FROM accommodation_inventory"
+                        + " WHERE accommodation_id = ?",
+                Integer.class, ACCOMMODATION_ID));
+    }
+
+    private AttemptsResult runInParallel(Runnable attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger rejections = new AtomicInteger();
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            Authentication authentication = new UsernamePasswordAuthenticationToken(
+                    new User().setId(userIds.get(i)), null,
+                    List.of(new SimpleGrantedAuthority("CUSTOMER")));
+            Callable<Void> task = () -> {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                try {
+                    startSignal.await();
+                    attempt.run();
+                    successes.incrementAndGet();
+                } catch (EntityCannotBeUsedException e) {
+                    rejections.incrementAndGet();
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            };
+            futures.add(executor.submit(task));
+        }
+        startSignal.countDown();
+        for (Future<Void> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        return new AttemptsResult(successes.get(), rejections.get());
+    }
+
+    private record AttemptsResult(int successes, int rejections) {
+    }
+}
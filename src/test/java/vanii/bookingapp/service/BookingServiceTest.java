@@ -5,12 +5,18 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.sql.SQLException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -19,19 +25,29 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import vanii.bookingapp.dto.booking.BookingRequestDto;
 import vanii.bookingapp.dto.booking.BookingResponseDto;
 import vanii.bookingapp.dto.booking.UpdateStatusDto;
+import vanii.bookingapp.exception.EntityCannotBeUsedException;
 import vanii.bookingapp.mapper.BookingMapper;
 import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.model.Booking;
 import vanii.bookingapp.model.Payment;
 import vanii.bookingapp.model.User;
-import vanii.bookingapp.repository.accommodation.AccommodationRepository;
 import vanii.bookingapp.repository.booking.BookingRepository;
+import vanii.bookingapp.repository.booking.BookingView;
 import vanii.bookingapp.repository.payment.PaymentRepository;
+import vanii.bookingapp.scheduling.SchedulerLeaseManager;
 import vanii.bookingapp.service.accommodation.AccommodationService;
 import vanii.bookingapp.service.booking.BookingServiceImpl;
+import vanii.bookingapp.service.hold.BookingHoldService;
+import vanii.bookingapp.service.inventory.InventoryService;
+import vanii.bookingapp.service.inventory.OccupancyIndex;
+import vanii.bookingapp.service.lock.AccommodationLockManager;
 import vanii.bookingapp.service.notification.NotificationService;
 import vanii.bookingapp.service.user.UserService;
 
@@ -52,7 +68,17 @@ class BookingServiceTest {
     @Mock
     private AccommodationService accommodationService;
     @Mock
-    private AccommodationRepository accommodationRepository;
+    private InventoryService inventoryService;
+    @Mock
+    private OccupancyIndex occupancyIndex;
+    @Mock
+    private BookingHoldService holdService;
+    @Mock
+    private AccommodationLockManager lockManager;
+    @Mock
+    private SchedulerLeaseManager leaseManager;
+    @Mock
+    private TransactionTemplate transactionTemplate;
     @Mock
     private UserService userService;
     @Mock
@@ -70,10 +96,11 @@ class BookingServiceTest {
                 .thenReturn(false);
         when(bookingMapper.toModel(requestDto)).thenReturn(booking);
         when(userService.getCurrentUser()).thenReturn(user);
-        when(accommodationService.getAccommodationOrThrowException(
-                anyLong())).thenReturn(accommodation);
-        when(accommodationRepository.save(accommodation)).thenReturn(accommodation);
-        when(bookingRepository.save(booking)).thenReturn(booking);
+        Instant holdExpiresAt = Instant.now().plusSeconds(900);
+        when(holdService.newHoldExpiration()).thenReturn(holdExpiresAt);
+        when(occupancyIndex.hasFreeUnits(LONG_ONE,
+                requestDto.checkInDate(), requestDto.checkOutDate())).thenReturn(true);
+        when(bookingRepository.saveAndFlush(booking)).thenReturn(booking);
         doNothing().when(notificationService).notifyNewBooking(booking);
         when(bookingMapper.toDto(booking)).thenReturn(expected);
 
@@ -81,11 +108,57 @@ class BookingServiceTest {
 
         assertEquals(expected, actual);
 
+        verify(inventoryService).reserve(LONG_ONE,
+                requestDto.checkInDate(), requestDto.checkOutDate());
+        verify(holdService).hold(LONG_ONE, holdExpiresAt);
         verifyNoMoreInteractions(paymentRepository, bookingMapper, userService,
-                accommodationService, accommodationRepository,
+                accommodationService, inventoryService,
                 bookingRepository, notificationService);
     }
 
+    @Test
+    @DisplayName("""
+            Verify save() method reports an overlapping stay of the same User as a client error
+            """)
+    void saveBooking_OverlappingStay_ThrowsException() {
+        stubSaveUntilFlush();
+        when(bookingRepository.saveAndFlush(booking)).thenThrow(integrityViolation(
+                "ex_bookings_user_accommodation_stay", "23P01"));
+
+        assertThrows(EntityCannotBeUsedException.class, () -> bookingService.save(requestDto));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify save() method rethrows integrity violations other than an overlapping stay
+            """)
+    void saveBooking_OtherIntegrityViolation_Rethrows() {
+        stubSaveUntilFlush();
+        when(bookingRepository.saveAndFlush(booking)).thenThrow(integrityViolation(
+                "fk_bookings_accommodations", "23503"));
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.save(requestDto));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify save() method turns a sold-out stay away before reserving inventory
+            """)
+    void saveBooking_NoFreeUnits_ThrowsException() {
+        when(paymentRepository.existsByStatusAndUserId(Payment.Status.PENDING, LONG_ONE))
+                .thenReturn(false);
+        when(bookingMapper.toModel(requestDto)).thenReturn(booking);
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(occupancyIndex.hasFreeUnits(LONG_ONE,
+                requestDto.checkInDate(), requestDto.checkOutDate())).thenReturn(false);
+
+        assertThrows(EntityCannotBeUsedException.class, () -> bookingService.save(requestDto));
+
+        verify(lockManager).lock(LONG_ONE);
+        verifyNoMoreInteractions(lockManager, inventoryService, bookingRepository);
+    }
+
     @Test
     @DisplayName("""
             Verify getBookingById() method works
@@ -109,8 +182,9 @@ class BookingServiceTest {
             """)
     void getBookingsOfCurrentUser_ValidRequest_CorrectResponse() {
         when(userService.getCurrentUser()).thenReturn(user);
-        when(bookingRepository.getBookingsByUserId(anyLong())).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(booking)).thenReturn(expected);
+        BookingView bookingView = mock(BookingView.class);
+        when(bookingRepository.getBookingsByUserId(anyLong())).thenReturn(List.of(bookingView));
+        when(bookingMapper.toDto(bookingView)).thenReturn(expected);
 
         List<BookingResponseDto> actualList = bookingService.getBookingsOfCurrentUser();
 
@@ -162,11 +236,11 @@ class BookingServiceTest {
 
         when(userService.getCurrentUser()).thenReturn(user);
         when(bookingRepository.existsByUserAndId(user, LONG_ONE)).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking));
         doNothing().when(bookingMapper).updateBooking(booking, updateRequest);
         when(accommodationService.getAccommodationOrThrowException(anyLong()))
                 .thenReturn(accommodation);
-        when(bookingRepository.save(any(Booking.class))).thenReturn(updatedBooking);
+        when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(updatedBooking);
         when(bookingMapper.toDto(updatedBooking)).thenReturn(expectedUpdate);
 
         BookingResponseDto actual = bookingService.updateMyBooking(updateRequest, LONG_ONE);
@@ -182,16 +256,16 @@ class BookingServiceTest {
              """)
     void updateStatus_ValidRequest_CorrectResponse() {
 
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(accommodationService.getAccommodationOrThrowException(anyLong()))
-                .thenReturn(accommodation);
-        when(accommodationRepository.save(accommodation)).thenReturn(accommodation);
+        when(bookingRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking));
+        doNothing().when(notificationService).notifyAccommodationRelease(accommodation);
         when(bookingRepository.save(booking)).thenReturn(booking);
 
         UpdateStatusDto requestDto = new UpdateStatusDto(Booking.Status.CANCELED);
         bookingService.updateStatus(LONG_ONE, requestDto);
 
-        verifyNoMoreInteractions(bookingRepository, accommodationService, accommodationRepository);
+        verify(inventoryService).release(LONG_ONE,
+                booking.getCheckInDate(), booking.getCheckOutDate());
+        verifyNoMoreInteractions(bookingRepository, accommodationService, inventoryService);
     }
 
     @Test
@@ -201,10 +275,7 @@ class BookingServiceTest {
     void deleteBooking_ValidRequest_CorrectResponse() {
         when(userService.getCurrentUser()).thenReturn(user);
         when(bookingRepository.existsByUserAndId(user, LONG_ONE)).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(accommodationService.getAccommodationOrThrowException(anyLong()))
-                .thenReturn(accommodation);
-        when(accommodationRepository.save(accommodation)).thenReturn(accommodation);
+        when(bookingRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(booking));
         doNothing().when(notificationService).notifyAccommodationRelease(accommodation);
         when(bookingRepository.save(booking)).thenReturn(booking);
         doNothing().when(notificationService).notifyBookingCancellation(booking);
@@ -212,8 +283,10 @@ class BookingServiceTest {
 
         bookingService.delete(LONG_ONE);
 
+        verify(inventoryService).release(LONG_ONE,
+                booking.getCheckInDate(), booking.getCheckOutDate());
         verifyNoMoreInteractions(userService, bookingRepository,
-                accommodationService, accommodationRepository, notificationService);
+                accommodationService, inventoryService, notificationService);
     }
 
     @Test
@@ -273,23 +346,77 @@ class BookingServiceTest {
 
     @Test
     @DisplayName("""
-            Verify checkExpiredSessions() method works 
+            Verify checkExpiredBookings() method expires Bookings chunk by chunk
             """)
-    void checkExpiredSessions_ExpiredBooking_ChangeStatus() {
-        booking.setCheckOutDate(booking.getCheckInDate().minusDays(LONG_ONE));
-        when(bookingRepository.getBookingsByPendingAndConfirmedStatuses())
-                .thenReturn(List.of(booking));
-        doNothing().when(notificationService)
-                .notifyAccommodationRelease(booking.getAccommodation());
-        when(accommodationService.getAccommodationOrThrowException(LONG_ONE))
-                .thenReturn(accommodation);
-        when(accommodationRepository.save(accommodation)).thenReturn(accommodation);
-        when(bookingRepository.save(booking)).thenReturn(booking);
-        doNothing().when(notificationService).notifyExpiredBookings(List.of(booking));
+    void checkExpiredBookings_ExpiredBookings_ExpiresInChunks() {
+        ReflectionTestUtils.setField(bookingService, "expirationChunkSize", 2);
+        List<Long> firstChunk = List.of(LONG_ONE, 2L);
+        List<Long> secondChunk = List.of(3L);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(bookingRepository.lockExpiredBookingIds(LocalDate.now(), 0L, 2))
+                .thenReturn(firstChunk);
+        when(bookingRepository.lockExpiredBookingIds(LocalDate.now(), 2L, 2))
+                .thenReturn(secondChunk);
+        doNothing().when(notificationService).notifyExpiredBookings(3);
+
+        bookingService.checkExpiredBookings();
+
+        verify(inventoryService).releaseBookings(firstChunk);
+        verify(bookingRepository).expireBookings(firstChunk);
+        verify(inventoryService).releaseBookings(secondChunk);
+        verify(bookingRepository).expireBookings(secondChunk);
+        verifyNoMoreInteractions(bookingRepository, notificationService, inventoryService);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify checkExpiredBookings() method reports when nothing has expired
+            """)
+    void checkExpiredBookings_NoExpiredBookings_NotifiesNoExpiredBookings() {
+        ReflectionTestUtils.setField(bookingService, "expirationChunkSize", 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(bookingRepository.lockExpiredBookingIds(LocalDate.now(), 0L, 2))
+                .thenReturn(List.of());
+        doNothing().when(notificationService).notifyNoExpiredBookingsToday();
 
         bookingService.checkExpiredBookings();
 
-        verifyNoMoreInteractions(bookingRepository, notificationService);
+        verifyNoMoreInteractions(bookingRepository, notificationService, inventoryService);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify checkExpiredBookings() method stops once the scheduler lease is lost
+            """)
+    void checkExpiredBookings_LeaseLost_StopsBeforeNextChunk() {
+        doThrow(new IllegalStateException("Scheduler lease was lost: check-expired-bookings"))
+                .when(leaseManager).assertHeld();
+
+        assertThrows(IllegalStateException.class, () -> bookingService.checkExpiredBookings());
+
+        verifyNoMoreInteractions(
+                transactionTemplate, bookingRepository, notificationService, inventoryService);
+    }
+
+    private void stubSaveUntilFlush() {
+        when(paymentRepository.existsByStatusAndUserId(Payment.Status.PENDING, LONG_ONE))
+                .thenReturn(false);
+        when(bookingMapper.toModel(requestDto)).thenReturn(booking);
+        when(userService.getCurrentUser()).thenReturn(user);
+        when(occupancyIndex.hasFreeUnits(LONG_ONE,
+                requestDto.checkInDate(), requestDto.checkOutDate())).thenReturn(true);
+    }
+
+    private static DataIntegrityViolationException integrityViolation(
+            String constraintName,
+            String sqlState
+    ) {
+        SQLException sqlException = new SQLException("violates " + constraintName, sqlState);
+        return new DataIntegrityViolationException(sqlException.getMessage(),
+                new ConstraintViolationException(
+                        sqlException.getMessage(), sqlException, constraintName));
     }
 
     @BeforeAll
@@ -321,5 +448,6 @@ class BookingServiceTest {
         accommodation.setAvailability(2);
         booking.setCheckOutDate(requestDto.checkOutDate());
         booking.setStatus(Booking.Status.PENDING);
+        booking.setHoldExpiresAt(null);
     }
 }
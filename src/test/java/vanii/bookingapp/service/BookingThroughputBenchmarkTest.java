@@ -0,0 +1,160 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.dto.booking.BookingRequestDto;
+import vanii.bookingapp.exception.EntityCannotBeUsedException;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.model.Booking;
+import vanii.bookingapp.model.User;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.booking.BookingRepository;
+import vanii.bookingapp.service.booking.BookingService;
+
+@Tag("benchmark")
+@SpringBootTest
+@Sql(scripts = {"classpath:database/user/add-user.sql",
+        "classpath:database/accommodation/add-two-accommodations.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"classpath:database/booking/delete-bookings.sql",
+        "classpath:database/accommodation/delete-accommodations.sql",
+        "classpath:database/user/delete-user.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class BookingThroughputBenchmarkTest {
+    private static final int ATTEMPTS = 300;
+    private static final int THREADS = 16;
+    private static final Long ACCOMMODATION_ID = 10L;
+    private static final LocalDate CHECK_IN_DATE = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT_DATE = LocalDate.now().plusDays(15);
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> userIds;
+
+    // room for every attempt, so both paths are timed on successful bookings
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (email, first_name, last_name, password)"
+                + " SELECT 'user' || n || '@mail', 'first', 'last', 'password'"
+                + " FROM generate_series(1, ?) n", ATTEMPTS - 1);
+        jdbcTemplate.update("UPDATE accommodations SET availability = ? WHERE id = ?",
+                ATTEMPTS, ACCOMMODATION_ID);
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+    }
+
+    @Test
+    @DisplayName("""
+            Report bookings/s of save() with the conditional inventory update
+            """)
+    void save_ParallelBookings_ReportsThroughput() throws Exception {
+        BookingRequestDto requestDto = new BookingRequestDto(CHECK_IN_DATE, CHECK_OUT_DATE,
+                ACCOMMODATION_ID);
+
+        AttemptsResult result = runInParallel(userId -> bookingService.save(requestDto));
+
+        assertEquals(ATTEMPTS, result.successes());
+        result.report("conditional inventory update");
+    }
+
+    @Test
+    @DisplayName("""
+            Report bookings/s of the old load-modify-save path under the same load
+            """)
+    void loadModifySave_ParallelBookings_ReportsThroughput() throws Exception {
+        AttemptsResult result = runInParallel(userId -> transactionTemplate.executeWithoutResult(
+                status -> {
+                    Accommodation accommodation =
+                            accommodationRepository.findById(ACCOMMODATION_ID).orElseThrow();
+                    if (accommodation.getAvailability() < 1) {
+                        throw new EntityCannotBeUsedException("Accommodation is sold out");
+                    }
+                    accommodation.setAvailability(accommodation.getAvailability() - 1);
+                    accommodationRepository.save(accommodation);
+                    bookingRepository.save(new Booking()
+                            .setCheckInDate(CHECK_IN_DATE)
+                            .setCheckOutDate(CHECK_OUT_DATE)
+                            .setAccommodation(accommodation)
+                            .setUser(new User().setId(userId)));
+                }));
+
+        // every lost update leaves a unit behind that was already sold
+        Integer oversold = jdbcTemplate.queryForObject(
+                "SELECT availability FROM accommodations WHERE id = ?",
+                Integer.class, ACCOMMODATION_ID);
+        result.report("load-modify-save, oversold by " + oversold);
+    }
+
+    private AttemptsResult runInParallel(Consumer<Long> attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger successes = new AtomicInteger();
+        List<Future<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            Long userId = userIds.get(i);
+            Authentication authentication = new UsernamePasswordAuthenticationToken(
+                    new User().setId(userId), null,
+                    List.of(new SimpleGrantedAuthority("CUSTOMER")));
+            Callable<Void> task = () -> {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                try {
+                    startSignal.await();
+                    attempt.accept(userId);
+                    successes.incrementAndGet();
+                } catch (EntityCannotBeUsedException e) {
+                    // sold out, only the successful bookings are counted
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return null;
+            };
+            futures.add(executor.submit(task));
+        }
+        long startedAt = System.nanoTime();
+        startSignal.countDown();
+        for (Future<Void> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        return new AttemptsResult(successes.get(), elapsedNanos);
+    }
+
+    private record AttemptsResult(int successes, long elapsedNanos) {
+        void report(String path) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("%s: %d bookings in %.3f s (%.1f bookings/s)%n",
+                    path, successes, seconds, successes / seconds);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import vanii.bookingapp.service.hold.HierarchicalTimingWheel;
+
+class HierarchicalTimingWheelTest {
+    private static final long TICK_MILLIS = 1000;
+    private static final long START_MILLIS = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("""
+            Verify advanceTo() expires entries on their tick across every wheel level
+            """)
+    void advanceTo_EntriesOnAllLevels_ExpireOnTheirTick() {
+        HierarchicalTimingWheel<Long> wheel =
+                new HierarchicalTimingWheel<>(TICK_MILLIS, 2, START_MILLIS);
+        List<Long> delaysInTicks = List.of(1L, 63L, 64L, 65L, 900L, 4095L, 4096L, 10_000L);
+        delaysInTicks.forEach(delay -> wheel.add(delay, START_MILLIS + delay * TICK_MILLIS));
+
+        List<Long> expiredOnTime = new ArrayList<>();
+        for (long tick = 1; tick <= 10_000; tick++) {
+            List<Long> expired = wheel.advanceTo(START_MILLIS + tick * TICK_MILLIS);
+            for (Long delay : expired) {
+                assertEquals(tick, delay);
+                expiredOnTime.add(delay);
+            }
+        }
+
+        assertEquals(delaysInTicks, expiredOnTime);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify advanceTo() returns overdue entries on the next call
+            """)
+    void advanceTo_OverdueEntry_ExpiresImmediately() {
+        HierarchicalTimingWheel<String> wheel =
+                new HierarchicalTimingWheel<>(TICK_MILLIS, 3, START_MILLIS);
+        wheel.add("late", START_MILLIS - TICK_MILLIS);
+        wheel.add("later", START_MILLIS + 15 * 60 * TICK_MILLIS);
+
+        assertEquals(List.of("late"), wheel.advanceTo(START_MILLIS));
+        assertEquals(List.of(), wheel.advanceTo(START_MILLIS + 10 * 60 * TICK_MILLIS));
+        assertEquals(List.of("later"), wheel.advanceTo(START_MILLIS + 15 * 60 * TICK_MILLIS));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,132 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vanii.bookingapp.exception.EntityCannotBeUsedException;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.inventory.InventoryRepository;
+import vanii.bookingapp.service.inventory.InventoryServiceImpl;
+import vanii.bookingapp.service.inventory.OccupancyIndex;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+    private static final Long ID = 1L;
+    private static LocalDate checkInDate;
+    private static LocalDate checkOutDate;
+    private static LocalDate lastNight;
+
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private AccommodationRepository accommodationRepository;
+    @Mock
+    private OccupancyIndex occupancyIndex;
+    @InjectMocks
+    private InventoryServiceImpl inventoryService;
+
+    @BeforeAll
+    static void setUp() {
+        checkInDate = LocalDate.now().plusDays(1);
+        checkOutDate = checkInDate.plusDays(3);
+        lastNight = checkOutDate.minusDays(1);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reserve() method reserves every night of the stay
+            """)
+    void reserve_AllNightsAvailable_Success() {
+        when(inventoryRepository.reserveNights(ID, checkInDate, lastNight)).thenReturn(3);
+
+        inventoryService.reserve(ID, checkInDate, checkOutDate);
+
+        verify(occupancyIndex).reserved(ID, checkInDate, checkOutDate);
+        verifyNoMoreInteractions(inventoryRepository, accommodationRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reserve() method throws exception when one of the nights is sold out
+            """)
+    void reserve_NightSoldOut_ThrowsException() {
+        when(inventoryRepository.reserveNights(ID, checkInDate, lastNight)).thenReturn(2);
+
+        EntityCannotBeUsedException exception = assertThrows(EntityCannotBeUsedException.class,
+                () -> inventoryService.reserve(ID, checkInDate, checkOutDate));
+
+        String expected = "There is no available Accommodations from " + checkInDate
+                + " to " + checkOutDate + ". AccommodationId: " + ID;
+        assertEquals(expected, exception.getMessage());
+        verifyNoMoreInteractions(inventoryRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reserve() method treats zero reserved nights as sold out
+            """)
+    void reserve_AccommodationSoldOut_ThrowsException() {
+        when(inventoryRepository.reserveNights(ID, checkInDate, lastNight)).thenReturn(0);
+        when(accommodationRepository.existsById(ID)).thenReturn(true);
+
+        assertThrows(EntityCannotBeUsedException.class,
+                () -> inventoryService.reserve(ID, checkInDate, checkOutDate));
+
+        verifyNoMoreInteractions(inventoryRepository, accommodationRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify reserve() method throws exception for non-existing Accommodation
+            """)
+    void reserve_NonExistingAccommodation_ThrowsException() {
+        when(inventoryRepository.reserveNights(ID, checkInDate, lastNight)).thenReturn(0);
+        when(accommodationRepository.existsById(ID)).thenReturn(false);
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> inventoryService.reserve(ID, checkInDate, checkOutDate));
+
+        assertEquals("Can't find Accommodation with id: " + ID, exception.getMessage());
+        verifyNoMoreInteractions(inventoryRepository, accommodationRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify release() method frees every night of the stay
+            """)
+    void release_ValidRequest_Success() {
+        when(inventoryRepository.releaseNights(ID, checkInDate, lastNight)).thenReturn(3);
+
+        inventoryService.release(ID, checkInDate, checkOutDate);
+
+        verify(occupancyIndex).released(ID, checkInDate, checkOutDate);
+        verifyNoMoreInteractions(inventoryRepository);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify releaseBookings() invalidates only the Accommodations it released nights of
+            """)
+    void releaseBookings_ExpiredBookings_InvalidatesReleasedAccommodations() {
+        List<Long> bookingIds = List.of(5L, 6L);
+        when(inventoryRepository.releaseBookedNights(bookingIds)).thenReturn(List.of(ID));
+
+        inventoryService.releaseBookings(bookingIds);
+
+        verify(occupancyIndex).invalidate(List.of(ID));
+        verifyNoMoreInteractions(inventoryRepository, occupancyIndex);
+    }
+}
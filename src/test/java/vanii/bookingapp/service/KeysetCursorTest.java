@@ -0,0 +1,91 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import vanii.bookingapp.dto.cursor.CursorPageDto;
+import vanii.bookingapp.dto.cursor.CursorRequestDto;
+import vanii.bookingapp.service.cursor.KeysetCursor;
+
+class KeysetCursorTest {
+    @Test
+    @DisplayName("""
+            Verify a next cursor decodes back to the keys of the last row
+            """)
+    void toPageAndPosition_DailyRateOrder_RoundTrips() {
+        Map<String, Object> lastKeys = new LinkedHashMap<>();
+        lastKeys.put("dailyRate", new BigDecimal("30.50"));
+        lastKeys.put("id", 10L);
+        Window<String> window = Window.from(List.of("first", "last"),
+                index -> ScrollPosition.forward(lastKeys), true);
+
+        CursorPageDto<String> page = KeysetCursor.toPage(window, String::toUpperCase);
+        KeysetScrollPosition position = (KeysetScrollPosition) KeysetCursor.position(
+                new CursorRequestDto(page.nextCursor(), null, null), KeysetCursor.BY_DAILY_RATE);
+
+        assertEquals(List.of("FIRST", "LAST"), page.content());
+        assertEquals(lastKeys, position.getKeys());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify the last page has no next cursor
+            """)
+    void toPage_LastWindow_NoNextCursor() {
+        Window<String> window = Window.from(List.of("last"),
+                index -> ScrollPosition.forward(Map.of("id", 1L)), false);
+
+        assertNull(KeysetCursor.toPage(window, String::valueOf).nextCursor());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a page built from limit + 1 rows resumes after the id of its last row
+            """)
+    void toPageAndAfterId_ExtraRow_NextCursorAfterLastRow() {
+        CursorPageDto<String> page = KeysetCursor.toPage(List.of(3L, 7L, 9L), 2,
+                id -> Map.of("id", id), rows -> rows.stream().map(String::valueOf).toList());
+
+        assertEquals(List.of("3", "7"), page.content());
+        assertEquals(7L, KeysetCursor.afterId(new CursorRequestDto(page.nextCursor(), 2, null)));
+        assertEquals(0L, KeysetCursor.afterId(new CursorRequestDto(null, 2, null)));
+        assertNull(KeysetCursor.toPage(List.of(9L), 2, id -> Map.of("id", id),
+                rows -> rows).nextCursor());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify a cursor issued for another order is rejected
+            """)
+    void position_CursorOfOtherOrder_ThrowsException() {
+        Window<String> window = Window.from(List.of("row"),
+                index -> ScrollPosition.forward(Map.of("id", 1L)), true);
+        String cursor = KeysetCursor.toPage(window, String::valueOf).nextCursor();
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.position(
+                new CursorRequestDto(cursor, null, null), KeysetCursor.BY_DAILY_RATE));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify missing cursor starts from the beginning and limit is clamped
+            """)
+    void positionAndLimit_NoCursor_InitialPositionAndBoundedLimit() {
+        assertTrue(KeysetCursor.position(new CursorRequestDto(null, null, null),
+                KeysetCursor.BY_ID).isInitial());
+        assertEquals(20, KeysetCursor.limit(new CursorRequestDto(null, null, null)));
+        assertEquals(100, KeysetCursor.limit(new CursorRequestDto(null, 5000, null)));
+        assertEquals(1, KeysetCursor.limit(new CursorRequestDto(null, 0, null)));
+    }
+}
@@ -1,33 +1,31 @@
 package vanii.bookingapp.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 
-import java.util.List;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.beans.factory.annotation.Value;
-import vanii.bookingapp.client.MyTelegramBot;
 import vanii.bookingapp.model.Accommodation;
 import vanii.bookingapp.model.Booking;
+import vanii.bookingapp.model.OutboxEvent;
 import vanii.bookingapp.model.Payment;
+import vanii.bookingapp.repository.outbox.OutboxEventRepository;
 import vanii.bookingapp.service.notification.NotificationServiceImpl;
 
 @ExtendWith(MockitoExtension.class)
 class NotificationServiceTest {
     private static final long ID = 1L;
-
-    @Value("{admin.chat.id}")
-    private static String ADMIN_ID;
     private static Booking booking;
     private static Accommodation accommodation;
     private static Payment payment;
     @Mock
-    private MyTelegramBot myTelegramBot;
+    private OutboxEventRepository outboxEventRepository;
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
@@ -39,7 +37,7 @@ class NotificationServiceTest {
         notificationService.notifyNewBooking(booking);
         String expectedMessage = "New Booking was created.\n Booking: "
                 + booking.toString();
-        verify(myTelegramBot).sendNotification(ADMIN_ID, expectedMessage);
+        verifyRecorded(OutboxEvent.Type.BOOKING_CREATED, expectedMessage);
     }
 
     @Test
@@ -50,7 +48,7 @@ class NotificationServiceTest {
         notificationService.notifyBookingCancellation(booking);
         String expectedMessage = "Booking was canceled.\n Booking: "
                 + booking.toString();
-        verify(myTelegramBot).sendNotification(ADMIN_ID, expectedMessage);
+        verifyRecorded(OutboxEvent.Type.BOOKING_CANCELED, expectedMessage);
     }
 
     @Test
@@ -58,10 +56,9 @@ class NotificationServiceTest {
             Verify notifyExpiredBookings() method works
             """)
     void notifyExpiredBookings_ValidRequest_ValidResponse() {
-        notificationService.notifyExpiredBookings(List.of(booking));
-        String expectedMessage = "Bookings were expired today.\n Bookings: "
-                + List.of(booking);
-        verify(myTelegramBot).sendNotification(ADMIN_ID, expectedMessage);
+        notificationService.notifyExpiredBookings(2);
+        String expectedMessage = "Bookings were expired today: 2";
+        verifyRecorded(OutboxEvent.Type.BOOKINGS_EXPIRED, expectedMessage);
     }
 
     @Test
@@ -71,7 +68,7 @@ class NotificationServiceTest {
     void notifyNoExpiredBookingsToday_ValidRequest_ValidResponse() {
         notificationService.notifyNoExpiredBookingsToday();
         String expectedMessage = "No expired bookings today!";
-        verify(myTelegramBot).sendNotification(ADMIN_ID, expectedMessage);
+        verifyRecorded(OutboxEvent.Type.BOOKINGS_EXPIRED, expectedMessage);
     }
 
     @Test
@@ -82,7 +79,7 @@ class NotificationServiceTest {
         notificationService.notifyNewAccommodation(accommodation);
         String expectedMessage = "New Accommodation was created.\n Accommodation: "
                 + accommodation.toString();;
-        verify(myTelegramBot).sendNotification(ADMIN_ID, expectedMessage);
+        verifyRecorded(OutboxEvent.Type.ACCOMMODATION_CREATED, expectedMessage);
     }
 
     @Test
@@ -93,7 +90,7 @@ class NotificationServiceTest {
         notificationService.notifyAccommodationRelease(accommodation);
         String expectedMessage = "Accommodation was released.\n Accommodation: "
                 + accommodation.toString();
-        verify(myTelegramBot).sendNotification(ADMIN_ID, expectedMessage);
+        verifyRecorded(OutboxEvent.Type.ACCOMMODATION_RELEASED, expectedMessage);
     }
 
     @Test
@@ -104,7 +101,7 @@ class NotificationServiceTest {
         notificationService.notifySuccessfulPayment(payment);
         String expectedMessage = "Payment was successful.\n Payment: "
                 + payment.toString();
-        verify(myTelegramBot).sendNotification(ADMIN_ID, expectedMessage);
+        verifyRecorded(OutboxEvent.Type.PAYMENT_SUCCEEDED, expectedMessage);
     }
 
     @Test
@@ -114,17 +111,24 @@ class NotificationServiceTest {
     void notifyCanceledPayment_ValidRequest_ValidResponse() {
         notificationService.notifyCanceledPayment(payment);
         String expectedMessage = "Payment was canceled.\n Payment: " + payment.toString();
-        verify(myTelegramBot).sendNotification(ADMIN_ID, expectedMessage);
+        verifyRecorded(OutboxEvent.Type.PAYMENT_CANCELED, expectedMessage);
     }
 
     @Test
     @DisplayName("""
-            Verify notifyExpiredPayment() method works
+            Verify notifyExpiredPayments() method works
             """)
-    void notifyExpiredPayment_ValidRequest_ValidResponse() {
-        notificationService.notifyExpiredPayment(payment);
-        String expectedMessage = "Payment was expired.\n Payment: " + payment.toString();
-        verify(myTelegramBot).sendNotification(ADMIN_ID, expectedMessage);
+    void notifyExpiredPayments_ValidRequest_ValidResponse() {
+        notificationService.notifyExpiredPayments(3);
+        String expectedMessage = "Payments were expired: 3";
+        verifyRecorded(OutboxEvent.Type.PAYMENTS_EXPIRED, expectedMessage);
+    }
+
+    private void verifyRecorded(OutboxEvent.Type type, String message) {
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(event.capture());
+        assertEquals(type, event.getValue().getType());
+        assertEquals(message, event.getValue().getPayload());
     }
 
     @BeforeAll
@@ -0,0 +1,94 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import vanii.bookingapp.model.Accommodation;
+import vanii.bookingapp.model.AccommodationInventory;
+import vanii.bookingapp.repository.accommodation.AccommodationRepository;
+import vanii.bookingapp.repository.inventory.InventoryRepository;
+import vanii.bookingapp.service.inventory.OccupancyIndex;
+
+@ExtendWith(MockitoExtension.class)
+class OccupancyIndexTest {
+    private static final Long ID = 1L;
+    private static final long TTL_SECONDS = 60;
+    private static final LocalDate CHECK_IN_DATE = LocalDate.now().plusDays(1);
+    private static final LocalDate CHECK_OUT_DATE = CHECK_IN_DATE.plusDays(2);
+    private static final List<AccommodationInventory> SOLD_OUT = List.of(
+            new AccommodationInventory()
+                    .setAccommodationId(ID)
+                    .setStayDate(CHECK_IN_DATE)
+                    .setBookedUnits(1));
+    @Mock
+    private InventoryRepository inventoryRepository;
+    @Mock
+    private AccommodationRepository accommodationRepository;
+    private OccupancyIndex occupancyIndex;
+
+    @BeforeEach
+    void setUp() {
+        occupancyIndex = new OccupancyIndex(
+                inventoryRepository, accommodationRepository, 100, TTL_SECONDS);
+        when(accommodationRepository.findById(ID))
+                .thenReturn(Optional.of(new Accommodation().setId(ID).setAvailability(1)));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify hasFreeUnits() reloads a cached full answer another node made stale
+            """)
+    void hasFreeUnits_StaleFullEntry_ReloadsAndReportsFree() {
+        when(inventoryRepository.findAllByAccommodationIdAndStayDateGreaterThanEqual(
+                eq(ID), any(LocalDate.class)))
+                .thenReturn(SOLD_OUT)
+                .thenReturn(List.of());
+
+        assertTrue(occupancyIndex.hasFreeUnits(ID, CHECK_IN_DATE, CHECK_OUT_DATE));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify hasFreeUnits() reports full once the reloaded entry is full too
+            """)
+    void hasFreeUnits_ConfirmedFull_ReportsFull() {
+        when(inventoryRepository.findAllByAccommodationIdAndStayDateGreaterThanEqual(
+                eq(ID), any(LocalDate.class))).thenReturn(SOLD_OUT);
+
+        assertFalse(occupancyIndex.hasFreeUnits(ID, CHECK_IN_DATE, CHECK_OUT_DATE));
+
+        verify(inventoryRepository, times(2))
+                .findAllByAccommodationIdAndStayDateGreaterThanEqual(eq(ID), any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify hasFreeUnits() answers a free stay from the cache until it is invalidated
+            """)
+    void hasFreeUnits_InvalidatedEntry_Reloads() {
+        when(inventoryRepository.findAllByAccommodationIdAndStayDateGreaterThanEqual(
+                eq(ID), any(LocalDate.class))).thenReturn(List.of());
+
+        occupancyIndex.hasFreeUnits(ID, CHECK_IN_DATE, CHECK_OUT_DATE);
+        occupancyIndex.hasFreeUnits(ID, CHECK_IN_DATE, CHECK_OUT_DATE);
+        occupancyIndex.invalidate(List.of(ID));
+        occupancyIndex.hasFreeUnits(ID, CHECK_IN_DATE, CHECK_OUT_DATE);
+
+        verify(inventoryRepository, times(2))
+                .findAllByAccommodationIdAndStayDateGreaterThanEqual(eq(ID), any(LocalDate.class));
+    }
+}
@@ -0,0 +1,119 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import vanii.bookingapp.model.OutboxEvent;
+import vanii.bookingapp.repository.outbox.OutboxEventRepository;
+import vanii.bookingapp.service.outbox.OutboxEventHandler;
+import vanii.bookingapp.service.outbox.OutboxRelay;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final long INITIAL_DELAY_MILLIS = 1000;
+    private static final long MAX_DELAY_MILLIS = 60_000;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private OutboxEventHandler handler;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, List.of(handler),
+                transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(outboxRelay, "retryInitialDelayMillis", INITIAL_DELAY_MILLIS);
+        ReflectionTestUtils.setField(outboxRelay, "retryMaxDelayMillis", MAX_DELAY_MILLIS);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<Object>>getArgument(0).doInTransaction(null));
+        when(handler.supports(any())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify relay() drains full batches and deletes the dispatched events
+            """)
+    void relay_FullBatch_DrainsUntilShortBatch() {
+        List<OutboxEvent> firstBatch = List.of(event(1L), event(2L));
+        List<OutboxEvent> secondBatch = List.of(event(3L));
+        when(outboxEventRepository.lockNextBatch(MAX_ATTEMPTS, BATCH_SIZE))
+                .thenReturn(firstBatch, secondBatch);
+        when(handler.handle(anyList())).thenReturn(List.of());
+
+        outboxRelay.relay();
+
+        verify(handler).handle(firstBatch);
+        verify(handler).handle(secondBatch);
+        verify(outboxEventRepository).deleteByIds(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteByIds(List.of(3L));
+        verify(outboxEventRepository, never()).scheduleRetry(anyList(), anyLong(), anyLong());
+        assertEquals(3, meterRegistry.get("outbox.events.dispatched").counter().count());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify relay() keeps events for a retry when the handler fails
+            """)
+    void relay_FailingHandler_SchedulesRetry() {
+        List<OutboxEvent> batch = List.of(event(1L));
+        when(outboxEventRepository.lockNextBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(batch);
+        doThrow(new IllegalStateException("Telegram is down")).when(handler).handle(batch);
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository)
+                .scheduleRetry(List.of(1L), INITIAL_DELAY_MILLIS, MAX_DELAY_MILLIS);
+        verify(outboxEventRepository, never()).deleteByIds(anyList());
+        assertEquals(1, meterRegistry.get("outbox.events.failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify relay() stops after a full batch with undelivered events
+            """)
+    void relay_PartiallyFailedFullBatch_StopsRun() {
+        OutboxEvent undelivered = event(2L);
+        List<OutboxEvent> batch = List.of(event(1L), undelivered);
+        when(outboxEventRepository.lockNextBatch(MAX_ATTEMPTS, BATCH_SIZE)).thenReturn(batch);
+        when(handler.handle(batch)).thenReturn(List.of(undelivered));
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, times(1)).lockNextBatch(MAX_ATTEMPTS, BATCH_SIZE);
+        verify(outboxEventRepository).deleteByIds(List.of(1L));
+        verify(outboxEventRepository)
+                .scheduleRetry(List.of(2L), INITIAL_DELAY_MILLIS, MAX_DELAY_MILLIS);
+    }
+
+    private OutboxEvent event(Long id) {
+        return new OutboxEvent()
+                .setId(id)
+                .setType(OutboxEvent.Type.BOOKING_CREATED)
+                .setPayload("Booking " + id);
+    }
+}
@@ -0,0 +1,96 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.stripe.Stripe;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import vanii.bookingapp.service.payment.PaymentServiceImpl;
+
+@SpringBootTest
+@Sql(scripts = {"classpath:database/user/add-user.sql",
+        "classpath:database/accommodation/add-two-accommodations.sql",
+        "classpath:database/booking/add-two-bookings.sql"},
+        executionPhase = Sql.ExecutionPhase.BEFORE_TEST_METHOD)
+@Sql(scripts = {"classpath:database/payment/delete-payments.sql",
+        "classpath:database/booking/delete-bookings.sql",
+        "classpath:database/accommodation/delete-accommodations.sql",
+        "classpath:database/user/delete-user.sql"},
+        executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class PaymentExpirationTest {
+    private static final String SESSIONS_PATH = "/v1/checkout/sessions/";
+    private static final int EXPIRED_SESSIONS = 50;
+    private static final AtomicInteger REMOTE_CALLS = new AtomicInteger();
+    private static HttpServer stripeStub;
+    @Autowired
+    private PaymentServiceImpl paymentService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startStripeStub() throws IOException {
+        stripeStub = HttpServer.create(new InetSocketAddress(0), 0);
+        stripeStub.createContext(SESSIONS_PATH, exchange -> {
+            REMOTE_CALLS.incrementAndGet();
+            String sessionId = exchange.getRequestURI().getPath()
+                    .substring(SESSIONS_PATH.length());
+            byte[] body = ("{\"id\": \"" + sessionId + "\", \"object\": \"checkout.session\","
+                    + " \"expires_at\": " + (Instant.now().getEpochSecond() - 60) + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        });
+        stripeStub.start();
+        Stripe.overrideApiBase("http://localhost:" + stripeStub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStripeStub() {
+        Stripe.overrideApiBase(Stripe.LIVE_API_BASE);
+        stripeStub.stop(0);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify checkExpiredSessions() calls Stripe only for sessions without expires_at
+            """)
+    void checkExpiredSessions_TrackedAndUntrackedSessions_CallsStripeOnlyForUntracked() {
+        jdbcTemplate.update("""
+                INSERT INTO payments (status, booking_id, user_id, session_url, session_id,
+                        amount, expires_at)
+                SELECT 'PENDING', 5, 4, 'url', 'cs_expired_' || n, 10, now() - interval '1 hour'
+                FROM generate_series(1, ?) n
+                """, EXPIRED_SESSIONS);
+        jdbcTemplate.update("""
+                INSERT INTO payments (status, booking_id, user_id, session_url, session_id,
+                        amount, expires_at)
+                VALUES ('PENDING', 5, 4, 'url', 'cs_open', 10, now() + interval '1 hour'),
+                        ('PENDING', 5, 4, 'url', 'cs_untracked', 10, NULL)
+                """);
+        REMOTE_CALLS.set(0);
+
+        paymentService.checkExpiredSessions();
+
+        assertEquals(1, REMOTE_CALLS.get());
+        assertEquals(EXPIRED_SESSIONS + 1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payments WHERE status = 'EXPIRED'", Integer.class));
+        assertEquals("cs_open", jdbcTemplate.queryForObject(
+                "SELECT session_id FROM payments WHERE status = 'PENDING'", String.class));
+    }
+}
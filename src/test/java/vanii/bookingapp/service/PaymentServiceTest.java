@@ -3,15 +3,16 @@ package vanii.bookingapp.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.stripe.exception.ApiConnectionException;
 import com.stripe.exception.StripeException;
 import com.stripe.model.checkout.Session;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -26,7 +27,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import vanii.bookingapp.client.StripeClient;
 import vanii.bookingapp.dto.payment.PaymentRequestDto;
@@ -37,7 +38,11 @@ import vanii.bookingapp.model.Booking;
 import vanii.bookingapp.model.Payment;
 import vanii.bookingapp.model.User;
 import vanii.bookingapp.repository.payment.PaymentRepository;
+import vanii.bookingapp.repository.payment.PaymentView;
+import vanii.bookingapp.scheduling.SchedulerLeaseManager;
 import vanii.bookingapp.service.booking.BookingServiceImpl;
+import vanii.bookingapp.service.hold.BookingHoldService;
+import vanii.bookingapp.service.inventory.InventoryService;
 import vanii.bookingapp.service.notification.NotificationService;
 import vanii.bookingapp.service.payment.PaymentServiceImpl;
 import vanii.bookingapp.service.user.UserServiceImpl;
@@ -64,7 +69,15 @@ class PaymentServiceTest {
     @Mock
     private BookingServiceImpl bookingService;
     @Mock
+    private InventoryService inventoryService;
+    @Mock
+    private BookingHoldService holdService;
+    @Mock
+    private SchedulerLeaseManager leaseManager;
+    @Mock
     private PaymentMapper mapper;
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     @InjectMocks
     private PaymentServiceImpl paymentService;
 
@@ -73,8 +86,10 @@ class PaymentServiceTest {
             Verify createPayment() method works
             """)
     void createPayment_ValidRequest_CorrectResponse() throws StripeException {
+        Instant paymentExpiresAt = Instant.now().plusSeconds(3600);
         when(bookingService.getBookingOrThrowException(LONG_ONE)).thenReturn(booking);
-        when(stripeClient.createPaymentSession(BigDecimal.valueOf(INT_FIVE)))
+        when(holdService.newPaymentExpiration()).thenReturn(paymentExpiresAt);
+        when(stripeClient.createPaymentSession(BigDecimal.valueOf(INT_FIVE), paymentExpiresAt))
                 .thenReturn(session);
         when(userService.getCurrentUser()).thenReturn(user);
         when(paymentRepository.save(any(Payment.class))).thenReturn(payment);
@@ -83,6 +98,7 @@ class PaymentServiceTest {
         PaymentResponseDto actual = paymentService.createPayment(requestDto).getBody();
 
         assertEquals(expected, actual);
+        verify(holdService).holdUntilPaymentExpires(booking, paymentExpiresAt);
         verifyNoMoreInteractions(bookingService, stripeClient,
                 userService, paymentRepository, mapper);
     }
@@ -92,10 +108,11 @@ class PaymentServiceTest {
             Verify getPaymentsForCurrentUser() method works
             """)
     void getPaymentsForCurrentUser_ValidRequest_CorrectResponse() {
-        List<Payment> expectedList = List.of(payment);
+        PaymentView paymentView = mock(PaymentView.class);
+        List<PaymentView> expectedList = List.of(paymentView);
         when(userService.getCurrentUser()).thenReturn(user);
         when(paymentRepository.getAllByUserId(any())).thenReturn(expectedList);
-        when(mapper.toDto(payment)).thenReturn(expected);
+        when(mapper.toDto(paymentView)).thenReturn(expected);
 
         List<PaymentResponseDto> actualList = paymentService.getPaymentsForCurrentUser();
 
@@ -110,9 +127,10 @@ class PaymentServiceTest {
             Verify getPaymentsForCertainUser() method works 
             """)
     void getPaymentsForCertainUser_ValidRequest_CorrectResponse() {
-        List<Payment> expectedList = List.of(payment);
+        PaymentView paymentView = mock(PaymentView.class);
+        List<PaymentView> expectedList = List.of(paymentView);
         when(paymentRepository.getAllByUserId(any())).thenReturn(expectedList);
-        when(mapper.toDto(payment)).thenReturn(expected);
+        when(mapper.toDto(paymentView)).thenReturn(expected);
 
         List<PaymentResponseDto> actualList = paymentService
                 .getPaymentsForCertainUser(any());
@@ -154,7 +172,9 @@ class PaymentServiceTest {
         String actualString = paymentService.cancelPayment(any()).getBody();
 
         assertEquals(expectedString, actualString);
-        verifyNoMoreInteractions(paymentRepository, notificationService);
+        verify(inventoryService).release(LONG_ONE,
+                booking.getCheckInDate(), booking.getCheckOutDate());
+        verifyNoMoreInteractions(paymentRepository, notificationService, inventoryService);
     }
 
     @Test
@@ -165,7 +185,7 @@ class PaymentServiceTest {
         payment.setStatus(Payment.Status.EXPIRED);
         when(paymentRepository.findBySessionId(any()))
                 .thenReturn(Optional.of(payment));
-        when(stripeClient.createPaymentSession(any())).thenReturn(session);
+        when(stripeClient.createPaymentSession(any(), any())).thenReturn(session);
         when(paymentRepository.save(payment)).thenReturn(payment);
         when(mapper.toDto(payment)).thenReturn(expected);
 
@@ -195,22 +215,41 @@ class PaymentServiceTest {
     }
 
     @Test
-    void checkExpiredSessions_ValidRequest_CorrectResponse() {
-        Session session = mock(Session.class);
-        when(session.getExpiresAt()).thenReturn(Instant.now().getEpochSecond() - 1);
-        when(paymentRepository.findAllByStatus(Payment.Status.PENDING))
+    @DisplayName("""
+            Verify checkExpiredSessions() calls Stripe only for untracked sessions
+            """)
+    void checkExpiredSessions_UntrackedSession_ReconcilesAndExpires() throws StripeException {
+        Session expiredSession = new Session();
+        expiredSession.setExpiresAt(Instant.now().getEpochSecond() - 1);
+        when(paymentRepository.findAllByStatusAndExpiresAtIsNull(Payment.Status.PENDING))
                 .thenReturn(List.of(payment));
+        when(stripeClient.retrieveSession(payment.getSessionId())).thenReturn(expiredSession);
+        when(paymentRepository.save(payment)).thenReturn(payment);
+        when(paymentRepository.expirePendingPayments(any(Instant.class))).thenReturn(1);
+        doNothing().when(notificationService).notifyExpiredPayments(1);
 
-        try (MockedStatic<Session> mockedSession = mockStatic(Session.class)) {
-            mockedSession.when(() -> Session.retrieve(anyString())).thenReturn(session);
+        paymentService.checkExpiredSessions();
 
-            when(paymentRepository.save(payment)).thenReturn(payment);
-            doNothing().when(notificationService).notifyExpiredPayment(payment);
+        assertEquals(Instant.ofEpochSecond(expiredSession.getExpiresAt()), payment.getExpiresAt());
+        verifyNoMoreInteractions(paymentRepository, stripeClient, notificationService);
+    }
 
-            paymentService.checkExpiredSessions();
+    @Test
+    @DisplayName("""
+            Verify checkExpiredSessions() counts a session Stripe fails to return and goes on
+            """)
+    void checkExpiredSessions_StripeFailure_CountsFailureAndExpires() throws StripeException {
+        Payment untracked = new Payment().setId(LONG_ONE).setSessionId("untracked");
+        when(paymentRepository.findAllByStatusAndExpiresAtIsNull(Payment.Status.PENDING))
+                .thenReturn(List.of(untracked));
+        when(stripeClient.retrieveSession(untracked.getSessionId()))
+                .thenThrow(new ApiConnectionException("Stripe is unreachable"));
+        when(paymentRepository.expirePendingPayments(any(Instant.class))).thenReturn(0);
+
+        paymentService.checkExpiredSessions();
 
-            verifyNoMoreInteractions(paymentRepository, notificationService);
-        }
+        assertEquals(1, meterRegistry.get("payments.reconciliation.failures").counter().count());
+        verifyNoMoreInteractions(paymentRepository, notificationService);
     }
 
     @BeforeAll
@@ -252,6 +291,7 @@ class PaymentServiceTest {
     @AfterEach
     void tearDown() {
         payment.setStatus(Payment.Status.PENDING);
+        payment.setExpiresAt(null);
         booking.setStatus(Booking.Status.PENDING);
         accommodation.setAvailability(2);
     }
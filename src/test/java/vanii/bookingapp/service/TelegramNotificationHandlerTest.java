@@ -0,0 +1,88 @@
+package vanii.bookingapp.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.telegram.telegrambots.meta.exceptions.TelegramApiException;
+import vanii.bookingapp.client.MyTelegramBot;
+import vanii.bookingapp.model.OutboxEvent;
+import vanii.bookingapp.service.notification.TelegramNotificationHandler;
+
+@ExtendWith(MockitoExtension.class)
+class TelegramNotificationHandlerTest {
+    private static final String CHAT_ID = "chat";
+    @Mock
+    private MyTelegramBot myTelegramBot;
+    private TelegramNotificationHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new TelegramNotificationHandler(myTelegramBot, CHAT_ID,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("""
+            Verify handle() coalesces a batch of events into one message
+            """)
+    void handle_SmallBatch_SendsOneMessage() throws TelegramApiException {
+        assertTrue(handler.handle(List.of(event("first"), event("second"))).isEmpty());
+
+        verify(myTelegramBot).sendMessage(CHAT_ID, "first\n\nsecond");
+        verifyNoMoreInteractions(myTelegramBot);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify handle() splits messages longer than the Telegram limit
+            """)
+    void handle_LongBatch_SplitsMessages() throws TelegramApiException {
+        String longMessage = "a".repeat(3000);
+
+        handler.handle(List.of(event(longMessage), event(longMessage)));
+
+        verify(myTelegramBot, times(2)).sendMessage(CHAT_ID, longMessage);
+    }
+
+    @Test
+    @DisplayName("""
+            Verify handle() splits a single event longer than the Telegram limit
+            """)
+    void handle_OversizedEvent_SplitsEvent() throws TelegramApiException {
+        handler.handle(List.of(event("a".repeat(5000))));
+
+        verify(myTelegramBot).sendMessage(CHAT_ID, "a".repeat(4096));
+        verify(myTelegramBot).sendMessage(CHAT_ID, "a".repeat(904));
+    }
+
+    @Test
+    @DisplayName("""
+            Verify handle() returns only the events of messages that were not sent
+            """)
+    void handle_SecondMessageFails_ReturnsUnsentEvents() throws TelegramApiException {
+        String longMessage = "a".repeat(3000);
+        OutboxEvent unsent = event("b".repeat(3000));
+        doThrow(new TelegramApiException("down")).when(myTelegramBot)
+                .sendMessage(CHAT_ID, unsent.getPayload());
+
+        List<OutboxEvent> actual = handler.handle(List.of(event(longMessage), unsent));
+
+        assertEquals(List.of(unsent), actual);
+    }
+
+    private OutboxEvent event(String payload) {
+        return new OutboxEvent().setType(OutboxEvent.Type.BOOKING_CREATED).setPayload(payload);
+    }
+}